@@ -0,0 +1,77 @@
+package model;
+
+// Reduces samples that are denser than the pixel columns they are drawn into (M4 decimation): each run of
+// samples falling in the same column is replaced by its first, last, minimum and maximum samples, in their
+// original order. When the samples are drawn as a polyline with x mapped by toColumn() and y mapped by any
+// non-decreasing (or non-increasing) function to integer rows, the decimated polyline rasterizes to exactly
+// the same pixels as the original, so narrow spikes (e.g. from tan()) are kept, unlike with naive skipping
+// ***the samples must be in increasing order of x; NaN y-values are only chosen as a column's min or max
+// if the column has no other values
+public class ColumnDecimator {
+    private final double viewLeft;
+    private final double scale; //pixel columns per unit of x
+
+    // REQUIRES: viewLeft < viewRight, pixels >= 1
+    // EFFECTS: creates a decimator for the x-range [viewLeft, viewRight] drawn pixels columns wide
+    public ColumnDecimator(double viewLeft, double viewRight, int pixels) {
+        this.viewLeft = viewLeft;
+        scale = pixels / (viewRight - viewLeft);
+    }
+
+    // EFFECTS: returns the pixel column that x is drawn in (column 0 starts at viewLeft)
+    public int toColumn(double x) {
+        return (int) Math.floor((x - viewLeft) * scale);
+    }
+
+    // REQUIRES: the x-values of samples are increasing
+    // EFFECTS: returns at most 4 samples per pixel column covered by samples: the first, minimum, maximum and
+    //          last sample of each column, in their original order (and without repeats)
+    public SampleBuffer decimate(SampleBuffer samples) {
+        return decimate(samples, 0, samples.size());
+    }
+
+    // REQUIRES: the x-values of samples are increasing, 0 <= from <= to <= samples.size()
+    // EFFECTS: returns decimate() of the samples with indices in [from, to) (e.g. one run, see getRuns())
+    public SampleBuffer decimate(SampleBuffer samples, int from, int to) {
+        double[] valuesX = samples.getValuesX();
+        double[] valuesY = samples.getValuesY();
+        double[] outX = new double[to - from];
+        double[] outY = new double[to - from];
+        int size = 0;
+
+        int first = from;
+        while (first < to) {
+            int column = toColumn(valuesX[first]);
+            int last = first;
+            int min = first;
+            int max = first;
+            while (last + 1 < to && toColumn(valuesX[last + 1]) == column) {
+                last++;
+                min = (valuesY[last] < valuesY[min] || Double.isNaN(valuesY[min])) ? last : min;
+                max = (valuesY[last] > valuesY[max] || Double.isNaN(valuesY[max])) ? last : max;
+            }
+            size = emitColumn(samples, first, Math.min(min, max), Math.max(min, max), last, outX, outY, size);
+            first = last + 1;
+        }
+        return SampleBuffer.trimmedTo(outX, outY, size);
+    }
+
+    // REQUIRES: first <= low <= high <= last
+    // MODIFIES: outX, outY
+    // EFFECTS: appends the samples at indices first, low, high and last (skipping repeated indices) to outX and
+    //          outY from position size on, and returns the new size
+    private static int emitColumn(SampleBuffer samples, int first, int low, int high, int last,
+                                  double[] outX, double[] outY, int size) {
+        int[] indices = {first, low, high, last};
+        int previous = -1;
+        for (int index : indices) {
+            if (index != previous) {
+                outX[size] = samples.getX(index);
+                outY[size] = samples.getY(index);
+                size++;
+                previous = index;
+            }
+        }
+        return size;
+    }
+}
@@ -1,20 +1,28 @@
 package model;
 
+import model.evaluator.Evaluator;
+import model.evaluator.ExponentialEvaluator;
+import model.evaluator.LinearEvaluator;
+import model.evaluator.LogarithmicEvaluator;
+import model.evaluator.PolynomialEvaluator;
+import model.evaluator.TrigonometricEvaluator;
+import model.evaluator.UndefinedEvaluator;
 import org.json.JSONObject;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
-
-import static java.lang.Double.NaN;
-import static java.lang.Math.*;
+import java.util.Map;
 
 
 // Represents an individual mathematical function, containing information
 // on it's definition and containing the capability to return x and y values
+// ***a Function is an immutable value: its definition (type, constants and domain) cannot change after
+// construction, so it can safely be used as a key in hash-based collections
 public class Function {
     public static final double DELTA = 0.01; //x-value spacing
+    public static final int RANGE_SAMPLES = 4097; //samples over the domain used to find getFittingRangeY()
     public static final String TYPE_LINEAR = "linear";
     public static final String TYPE_POLY = "polynomial";
     public static final String TYPE_EXP = "exponential";
@@ -24,10 +32,13 @@ public class Function {
     private static final HashMap<String, Integer> NUMBER_OF_CONSTANTS_FOR_TYPE = new HashMap<>();
 
     private final String functionType;
-    private HashMap<String, Double> constants;
-    private List<Double> domain;
-    private List<Double> valuesY;
-    private List<Double> valuesX; //calculated using domain and DELTA
+    private final Map<String, Double> constants; //read-only copy
+    private final List<Double> domain; //read-only copy
+    private final Evaluator evaluator; //specialized for functionType, bound once at construction
+    private final long fingerprint; //stable 64-bit hash of (functionType, constants, domain)
+    private final int hashCode; //precomputed from fingerprint, so hashing never touches the samples
+    private volatile SampleHandle domainSamples; //x and y values over domain at DELTA spacing, sampled on first use
+    private volatile RangeSamples lastRangeSamples; //memo of the most recent getSamples(left, right, count)
 
     // REQUIRES: - type must be one of the following strings:
     //                  "linear" -> a*x + b,
@@ -36,28 +47,30 @@ public class Function {
     //                  "trigonometric" -> a*sin(b*x) + c*cos(d*x) + e*tan(f*x) + g,
     //                  "logarithmic" -> a*ln(b*x) + c
     //                  ***see the constant TYPE's above
-    //           - constants must be a HashMap of all constants in the function
+    //           - constants must be a Map of all constants in the function
     //           - domainX must be a List where index 0 is left domain boundary, index 1 is right domain boundary
     //           - points in pointsX must be equally-spaced
     // MODIFIES: this
     // EFFECTS: creates a Function object with a function type specified, as well as its constants and domain;
-    //          calculates valuesX and valuesY
-    public Function(String type, HashMap<String, Double> funcConstants, List<Double> domainX) {
+    //          the x and y values (samples) are not calculated until they are first requested;
+    //          funcConstants and domainX are copied, so later changes to them do not affect this
+    public Function(String type, Map<String, Double> funcConstants, List<Double> domainX) {
         //initialize simple fields
         functionType = type;
-        constants = funcConstants;
+        constants = Collections.unmodifiableMap(new HashMap<>(funcConstants));
         initNumberOfConstantsForType();
-        domain = domainX;
-        valuesX = new ArrayList<>();
-        valuesY = new ArrayList<>();
-
-        //generate x and y values
-        double i = domain.get(0);
-        while (i <= domain.get(1)) {
-            valuesX.add(i);
-            valuesY.add(evalFunction(i));
-            i += Function.DELTA;
-        }
+        domain = Collections.unmodifiableList(new ArrayList<>(domainX));
+        evaluator = bindEvaluator();
+        fingerprint = computeFingerprint();
+        hashCode = Long.hashCode(fingerprint);
+        domainSamples = new SampleHandle(this::sampleDomain);
+    }
+
+    // EFFECTS: samples the domain at x_i = left + i * DELTA and returns the x and y values in a SampleBuffer;
+    //          the x-values are computed from their index, so the number of samples is deterministic
+    private SampleBuffer sampleDomain() {
+        int count = ParallelSampler.countPoints(domain.get(0), domain.get(1), DELTA);
+        return ParallelSampler.getDefault().sample(evaluator, domain.get(0), DELTA, count);
     }
 
     // MODIFIES: this
@@ -74,22 +87,83 @@ public class Function {
     // REQUIRES: x must be in the domain of the function
     // EFFECTS: returns the function evaluated at x (i.e. returns f(x)) by calling appropriate "eval" method
     public double evalFunction(double x) {
+        return evaluator.eval(x);
+    }
+
+    // REQUIRES: every x in xs must be in the domain of the function, out.length >= xs.length
+    // MODIFIES: out
+    // EFFECTS: evaluates the function at every x in xs in one batch, storing f(xs[i]) in out[i]
+    public void evalFunction(double[] xs, double[] out) {
+        evaluator.evalBatch(xs, out);
+    }
+
+    // REQUIRES: the grid must be in the domain of the function, count >= 0, out.length >= count
+    // MODIFIES: out
+    // EFFECTS: evaluates the function on the uniform grid x_i = start + i * step for 0 <= i < count,
+    //          storing f(x_i) in out[i]
+    public void evalFunction(double start, double step, int count, double[] out) {
+        evaluator.evalGrid(start, step, 0, count, out);
+    }
+
+    // REQUIRES: count >= 0
+    // EFFECTS: returns an upper bound on how far evalFunction(start, step, count, out) can differ from
+    //          evaluating each grid point on its own (0 for types that evaluate every grid point directly)
+    public double getGridErrorBound(double start, double step, int count) {
+        return evaluator.gridErrorBound(start, step, 0, count);
+    }
+
+    // REQUIRES: constants contains every constant used by functionType
+    // EFFECTS: returns the Evaluator specialized for functionType, with the constants bound to it
+    private Evaluator bindEvaluator() {
         switch (functionType) {
             case TYPE_LINEAR:
-                return evalLinear(x);
+                return new LinearEvaluator(constant("a"), constant("b"));
             case TYPE_POLY:
-                return evalPolynomial(x);
+                return new PolynomialEvaluator(constant("a"), constant("b"), constant("c"),
+                        constant("d"), constant("e"), constant("f"));
             case TYPE_EXP:
-                return evalExponential(x);
+                return new ExponentialEvaluator(constant("a"), constant("b"), constant("c"));
             case TYPE_TRIG:
-                return evalTrigonometric(x);
+                return new TrigonometricEvaluator(constant("a"), constant("b"), constant("c"),
+                        constant("d"), constant("e"), constant("f"), constant("g"));
             case TYPE_LOG:
-                return evalLogarithmic(x);
+                return new LogarithmicEvaluator(constant("a"), constant("b"), constant("c"));
             default:
-                return NaN;
+                return new UndefinedEvaluator();
         }
     }
 
+    // EFFECTS: returns a 64-bit hash of functionType, constants and domain that is the same for equal Functions
+    //          in every run of the program (unlike hashCode(), it does not depend on String/Object hashing)
+    private long computeFingerprint() {
+        long hash = 0xcbf29ce484222325L;
+        for (char c : functionType.toCharArray()) {
+            hash = mix(hash, c);
+        }
+        for (int i = 0; i < CONSTANT_NAMES.length; i++) {
+            Double value = constants.get(CONSTANT_NAMES[i]);
+            if (value != null) {
+                hash = mix(mix(hash, i), Double.doubleToLongBits(value));
+            }
+        }
+        for (Double bound : domain) {
+            hash = mix(hash, Double.doubleToLongBits(bound));
+        }
+        return hash;
+    }
+
+    // EFFECTS: returns hash with value mixed into it
+    private static long mix(long hash, long value) {
+        long result = (hash ^ value) * 0x9e3779b97f4a7c15L;
+        return result ^ (result >>> 31);
+    }
+
+    // REQUIRES: name is a key of constants
+    // EFFECTS: returns the (unboxed) value of the constant called name
+    private double constant(String name) {
+        return constants.get(name);
+    }
+
     // ~~~~~~~~~~GETTERS~~~~~~~~~~~
 
     // EFFECTS: returns functionType
@@ -97,64 +171,111 @@ public class Function {
         return functionType;
     }
 
-    // EFFECTS: returns constants
-    public HashMap<String, Double> getConstants() {
+    // EFFECTS: returns a read-only view of constants
+    public Map<String, Double> getConstants() {
         return constants;
     }
 
-    // EFFECTS: returns domain
+    // EFFECTS: returns a read-only view of domain
     public List<Double> getDomain() {
         return domain;
     }
 
-    // EFFECTS: returns valuesX
-    public List<Double> getValuesX() {
-        return valuesX;
+    // MODIFIES: this
+    // EFFECTS: returns the x and y values over the domain as a primitive SampleBuffer (zero-copy);
+    //          they are calculated on the first call and memoized (and shared with equal Functions
+    //          in the same Workspace, see SampleCache)
+    public SampleBuffer getSamples() {
+        return domainSamples.get();
     }
 
-    // EFFECTS: returns valuesY
-    public List<Double> getValuesY() {
-        return valuesY;
+    // REQUIRES: left <= right, count >= 2
+    // MODIFIES: this
+    // EFFECTS: returns count equally-spaced samples from left to right (inclusive); the most recently
+    //          requested range and resolution is memoized, so repeating a request does not resample
+    public SampleBuffer getSamples(double left, double right, int count) {
+        RangeSamples memo = lastRangeSamples;
+        if (memo != null && memo.matches(left, right, count)) {
+            return memo.buffer;
+        }
+
+        double step = (right - left) / (count - 1);
+        SampleBuffer buffer = ParallelSampler.getDefault().sample(evaluator, left, step, count);
+        lastRangeSamples = new RangeSamples(left, right, count, buffer);
+        return buffer;
     }
 
-    // ~~~~~~~~~~~PRIVATE METHODS~~~~~~~~~~~~~
+    // EFFECTS: returns {low, high} bounding the y-values of this function worth fitting a view to, leaving out
+    //          outliers such as the values next to a vertical asymptote (see SampleBuffer.getFittingRangeY()), or
+    //          null if it has no finite values; found from RANGE_SAMPLES samples spread over the domain, so the
+    //          cost does not depend on the size of the domain or on DELTA (the samples are not memoized, so the
+    //          last getSamples(left, right, count) stays memoized)
+    public double[] getFittingRangeY() {
+        double left = domain.get(0);
+        double step = (domain.get(1) - left) / (RANGE_SAMPLES - 1);
+        return ParallelSampler.getDefault().sample(evaluator, left, step, RANGE_SAMPLES).getFittingRangeY();
+    }
 
-    // REQUIRES: x must be in the domain of the function
-    // EFFECTS: evaluates a function defined by the type TYPE_LINEAR
-    private double evalLinear(double x) {
-        return constants.get("a") * x + constants.get("b");
+    // REQUIRES: viewLeft < viewRight, pixels >= 1
+    // MODIFIES: this
+    // EFFECTS: returns samples of the part of the domain visible in the x-range [viewLeft, viewRight], when that
+    //          range is drawn pixels wide: one sample per pixel column (plus one to close the last column), so
+    //          the number of samples depends only on pixels, not on the size of the domain or on DELTA;
+    //          returns no samples if the domain lies outside the view
+    public SampleBuffer getSamplesForView(double viewLeft, double viewRight, int pixels) {
+        double left = Math.max(domain.get(0), viewLeft);
+        double right = Math.min(domain.get(1), viewRight);
+        if (left > right) {
+            return new SampleBuffer(new double[0], new double[0]);
+        }
+
+        int columns = (int) Math.ceil((right - left) / (viewRight - viewLeft) * pixels);
+        return getSamples(left, right, Math.max(columns, 1) + 1);
     }
 
-    // REQUIRES: x must be in the domain of the function
-    // EFFECTS: evaluates a function defined by the type TYPE_POLY
-    private double evalPolynomial(double x) {
-        return constants.get("a") * x * x * x * x * x + constants.get("b") * x * x * x * x
-                + constants.get("c") * x * x * x + constants.get("d") * x * x
-                + constants.get("e") * x + constants.get("f");
+    // REQUIRES: left <= right, targetCount >= 2
+    // MODIFIES: this
+    // EFFECTS: returns about targetCount of the domain samples with x in [left, right], chosen from a
+    //          min/max level-of-detail pyramid (see SamplePyramid) so that peaks and troughs are kept;
+    //          only O(targetCount) data is read, whatever the size of the range
+    public SampleBuffer getLevelOfDetail(double left, double right, int targetCount) {
+        return domainSamples.getPyramid().query(left, right, targetCount);
     }
 
-    // REQUIRES: x must be in the domain of the function
-    // EFFECTS: evaluates a function defined by the type TYPE_EXP
-    private double evalExponential(double x) {
-        return constants.get("a") * exp(constants.get("b") * x) + constants.get("c");
+    // EFFECTS: returns the fingerprint of this function's definition: a stable 64-bit hash of
+    //          functionType, constants and domain (equal Functions have equal fingerprints)
+    public long getFingerprint() {
+        return fingerprint;
     }
 
-    // REQUIRES: x must be in the domain of the function
-    // EFFECTS: evaluates a function defined by the type TYPE_TRIG
-    private double evalTrigonometric(double x) {
-        return constants.get("a") * sin(constants.get("b") * x)
-                + constants.get("c") * cos(constants.get("d") * x)
-                + constants.get("e") * tan(constants.get("f") * x) + constants.get("g");
+    // EFFECTS: returns the holder of this function's domain samples
+    SampleHandle getSampleHandle() {
+        return domainSamples;
     }
 
-    // REQUIRES: x must be in the domain of the function
-    // EFFECTS: evaluates a function defined by the type TYPE_LOG
-    private double evalLogarithmic(double x) {
-        return constants.get("a") * log(constants.get("b") * x) + constants.get("c");
+    // REQUIRES: handle holds the samples of a Function equal to this
+    // MODIFIES: this
+    // EFFECTS: makes this function use (and share) handle's samples from now on
+    void shareSamples(SampleHandle handle) {
+        domainSamples = handle;
+    }
+
+    // EFFECTS: returns a read-only List view of the x-values
+    //          ***kept for compatibility, prefer getSamples() to avoid boxing
+    public List<Double> getValuesX() {
+        return getSamples().asListX();
+    }
+
+    // EFFECTS: returns a read-only List view of the y-values
+    //          ***kept for compatibility, prefer getSamples() to avoid boxing
+    public List<Double> getValuesY() {
+        return getSamples().asListY();
     }
 
     // REQUIRES: a Function object with name "name" exists in the corresponding Workspace
-    // EFFECTS: returns Function object as JSONObject
+    // EFFECTS: returns Function object as JSONObject: its name, type, constants and domain
+    //          ***the samples are not stored, as they are completely determined by the rest (see equals());
+    //          files written before Workspace.JSON_VERSION 2 also held them as "valuesX" and "valuesY"
     public JSONObject toJson(String name) {
         JSONObject json = new JSONObject();
 
@@ -162,8 +283,6 @@ public class Function {
         json.put("type", functionType);
         json.put("constants", constantsToJson());
         json.put("domain", domain);
-        json.put("valuesX", valuesX);
-        json.put("valuesY", valuesY);
 
         return json;
     }
@@ -197,8 +316,30 @@ public class Function {
     }
 
     @Override
-    // EFFECTS: generates a hash code for this
+    // EFFECTS: returns the hash code of this, consistent with equals() (it is derived from the fingerprint,
+    //          which covers functionType, constants and domain); O(1), it never samples the function
     public int hashCode() {
-        return Objects.hash(functionType, constants, domain, valuesY, valuesX);
+        return hashCode;
+    }
+
+    // A SampleBuffer together with the range and resolution it was sampled at
+    private static final class RangeSamples {
+        private final double left;
+        private final double right;
+        private final int count;
+        private final SampleBuffer buffer;
+
+        // EFFECTS: creates a memo entry for buffer, sampled with count points over [left, right]
+        RangeSamples(double left, double right, int count, SampleBuffer buffer) {
+            this.left = left;
+            this.right = right;
+            this.count = count;
+            this.buffer = buffer;
+        }
+
+        // EFFECTS: returns true if this entry was sampled with the given range and resolution
+        boolean matches(double left, double right, int count) {
+            return this.left == left && this.right == right && this.count == count;
+        }
     }
 }
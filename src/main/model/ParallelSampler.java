@@ -0,0 +1,125 @@
+package model;
+
+import model.evaluator.Evaluator;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Samples a function on a uniform, index-based grid (x_i = start + i * step), splitting grids larger than
+// a threshold into chunks that are sampled in parallel on a ForkJoinPool
+// ***chunk boundaries are multiples of Evaluator.ANCHOR_INTERVAL, so the output is bit-identical to
+// sampling the whole grid sequentially, whatever the threshold or number of threads
+public class ParallelSampler {
+    public static final int DEFAULT_THRESHOLD = 1 << 16; // grids up to this many points are sampled sequentially
+    private static final ParallelSampler DEFAULT = new ParallelSampler(ForkJoinPool.commonPool(),
+            Integer.getInteger("plotter.parallelThreshold", DEFAULT_THRESHOLD));
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    // EFFECTS: creates a sampler that runs on pool and splits grids with more than threshold points
+    //          (at least 2 * Evaluator.ANCHOR_INTERVAL, so that every split produces two non-empty chunks)
+    public ParallelSampler(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.threshold = Math.max(threshold, 2 * Evaluator.ANCHOR_INTERVAL);
+    }
+
+    // EFFECTS: returns the sampler shared by all Functions, which runs on the common ForkJoinPool; its threshold
+    //          can be set with -Dplotter.parallelThreshold=<points>
+    public static ParallelSampler getDefault() {
+        return DEFAULT;
+    }
+
+    // EFFECTS: returns the number of points above which grids are split
+    public int getThreshold() {
+        return threshold;
+    }
+
+    // REQUIRES: count >= 0
+    // EFFECTS: returns the samples of evaluator at x_i = start + i * step, for 0 <= i < count; their finite y-range
+    //          (see SampleBuffer.getMinY()) is found while sampling, as each chunk is written
+    public SampleBuffer sample(Evaluator evaluator, double start, double step, int count) {
+        double[] valuesX = new double[count];
+        double[] valuesY = new double[count];
+        SampleTask task = new SampleTask(evaluator, start, step, 0, count, valuesX, valuesY);
+
+        if (count <= threshold) {
+            task.sampleDirectly();
+        } else {
+            pool.invoke(task);
+        }
+        return new SampleBuffer(valuesX, valuesY, task.minY, task.maxY);
+    }
+
+    // EFFECTS: returns the number of grid points in [left, right] spaced step apart, starting at left;
+    //          a right boundary within rounding of a grid point counts as on the grid
+    public static int countPoints(double left, double right, double step) {
+        if (right < left) {
+            return 0;
+        }
+        return (int) Math.floor((right - left) / step + 1e-9) + 1;
+    }
+
+    // Fills the slice [first, last) of the output arrays, forking into two halves while the slice is too large,
+    // and finds the finite y-range of the slice
+    private class SampleTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Evaluator evaluator;
+        private final double start;
+        private final double step;
+        private final int first;
+        private final int last;
+        private final double[] valuesX;
+        private final double[] valuesY;
+        private double minY = Double.NaN; // smallest finite y-value in the slice, once sampled
+        private double maxY = Double.NaN; // largest finite y-value in the slice, once sampled
+
+        // EFFECTS: creates a task to sample indices [first, last) into valuesX and valuesY
+        SampleTask(Evaluator evaluator, double start, double step, int first, int last,
+                   double[] valuesX, double[] valuesY) {
+            this.evaluator = evaluator;
+            this.start = start;
+            this.step = step;
+            this.first = first;
+            this.last = last;
+            this.valuesX = valuesX;
+            this.valuesY = valuesY;
+        }
+
+        @Override
+        // MODIFIES: this, valuesX, valuesY
+        // EFFECTS: samples this slice, splitting it at an anchor boundary if it exceeds the threshold
+        protected void compute() {
+            if (last - first <= threshold) {
+                sampleDirectly();
+            } else {
+                int middle = first + (last - first) / 2;
+                middle -= middle % Evaluator.ANCHOR_INTERVAL;
+                SampleTask left = new SampleTask(evaluator, start, step, first, middle, valuesX, valuesY);
+                SampleTask right = new SampleTask(evaluator, start, step, middle, last, valuesX, valuesY);
+                invokeAll(left, right);
+                minY = SampleBuffer.finiteMin(left.minY, right.minY);
+                maxY = SampleBuffer.finiteMax(left.maxY, right.maxY);
+            }
+        }
+
+        // MODIFIES: this, valuesX, valuesY
+        // EFFECTS: samples this slice on the current thread, then finds its finite y-range while it is in cache
+        void sampleDirectly() {
+            for (int i = first; i < last; i++) {
+                valuesX[i] = start + i * step;
+            }
+            evaluator.evalGrid(start, step, first, last, valuesY);
+
+            double min = Double.NaN;
+            double max = Double.NaN;
+            for (int i = first; i < last; i++) {
+                min = SampleBuffer.finiteMin(min, valuesY[i]);
+                max = SampleBuffer.finiteMax(max, valuesY[i]);
+            }
+            minY = min;
+            maxY = max;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package model;
+
+import java.util.TreeMap;
+
+// Represents the overall [min, max] of a changing collection of ranges [min_i, max_i]: the minima and the maxima
+// are each kept in a sorted multiset (value -> number of ranges with that value), so adding or removing a range
+// costs O(log n) and the overall range is read off the ends without rescanning every range
+class RangeTracker {
+    private final TreeMap<Double, Integer> minima;
+    private final TreeMap<Double, Integer> maxima;
+
+    // EFFECTS: creates a tracker holding no ranges
+    RangeTracker() {
+        minima = new TreeMap<>();
+        maxima = new TreeMap<>();
+    }
+
+    // REQUIRES: min <= max, both finite
+    // MODIFIES: this
+    // EFFECTS: adds the range [min, max]
+    void add(double min, double max) {
+        minima.merge(min, 1, Integer::sum);
+        maxima.merge(max, 1, Integer::sum);
+    }
+
+    // REQUIRES: [min, max] was added and not yet removed
+    // MODIFIES: this
+    // EFFECTS: removes one copy of the range [min, max]
+    void remove(double min, double max) {
+        removeOne(minima, min);
+        removeOne(maxima, max);
+    }
+
+    // EFFECTS: returns true if no ranges are held
+    boolean isEmpty() {
+        return minima.isEmpty();
+    }
+
+    // EFFECTS: returns {smallest min, largest max} over all ranges held, or null if there are none
+    double[] getRange() {
+        if (isEmpty()) {
+            return null;
+        }
+        return new double[] {minima.firstKey(), maxima.lastKey()};
+    }
+
+    // MODIFIES: values
+    // EFFECTS: removes one occurrence of value from the multiset values
+    private static void removeOne(TreeMap<Double, Integer> values, double value) {
+        values.computeIfPresent(value, (key, count) -> (count == 1) ? null : count - 1);
+    }
+}
@@ -0,0 +1,91 @@
+package model;
+
+import java.util.Arrays;
+
+// Splits a sequence of samples into runs that can each be drawn as one connected line: a run ends at a
+// sample that is not finite (NaN or infinite, e.g. ln of a non-positive number), and at a jump across a
+// vertical asymptote (e.g. of tan()), detected with the heuristic in isJump()
+public final class RunDetector {
+    private static final double JUMP_RATIO = 4.0; // see isJump()
+    private static final int OUTER_SEGMENTS = 2; // see isJump()
+
+    // EFFECTS: prevents instantiation (this class only has static methods)
+    private RunDetector() {
+    }
+
+    // EFFECTS: returns the runs of valuesY as consecutive pairs {start, end, start, end, ...} of index ranges
+    //          [start, end), in increasing order; only runs of at least 2 samples (one segment) are included
+    public static int[] findRuns(double[] valuesY) {
+        int[] runs = new int[valuesY.length + 1];
+        int size = 0;
+        int start = 0;
+        for (int i = 0; i < valuesY.length; i++) {
+            boolean breaksBefore = !Double.isFinite(valuesY[i]) || (i > 0 && isJump(valuesY, i - 1));
+            if (breaksBefore) {
+                size = addRun(runs, size, start, i);
+                start = Double.isFinite(valuesY[i]) ? i : i + 1;
+            }
+        }
+        size = addRun(runs, size, start, valuesY.length);
+        return Arrays.copyOf(runs, size);
+    }
+
+    // MODIFIES: runs
+    // EFFECTS: appends the run [start, end) to runs[0, size) if it has at least 2 samples; returns the new size
+    private static int addRun(int[] runs, int size, int start, int end) {
+        if (end - start < 2) {
+            return size;
+        }
+        runs[size] = start;
+        runs[size + 1] = end;
+        return size + 2;
+    }
+
+    // REQUIRES: 0 <= i < valuesY.length - 1
+    // EFFECTS: returns true if the segment from sample i to i + 1 looks like a jump across a vertical asymptote:
+    //          both samples are finite; the segments right beside it are less steep than it
+    //          but head the opposite way (a continuous function cannot change direction twice within three
+    //          segments while taking its largest step in the middle); and the OUTER_SEGMENTS segments after those,
+    //          on each side, head the opposite way too and are less than 1 / JUMP_RATIO as steep (so a jump
+    //          within OUTER_SEGMENTS + 1 segments of either end is not detected)
+    //          ***when a sample lands close to the asymptote, the segment beside the jump can be almost as steep
+    //          as the jump itself, but near an asymptote y ~ c / (x - p) the segments further out are always at
+    //          least 8 times less steep; a sinusoid sampled too coarsely to follow (e.g. sin(1000x) every 0.00254)
+    //          zigzags with steps of similar size every few samples, so it fails this test and stays one run
+    //          ***the jump is only judged against the neighbouring steps, never against y = 0, so an asymptote of
+    //          e.g. tan(x) + 100 is found even though the samples on both sides of it are positive
+    private static boolean isJump(double[] valuesY, int i) {
+        double before = valuesY[i];
+        double after = valuesY[i + 1];
+        if (!Double.isFinite(before) || !Double.isFinite(after)) {
+            return false;
+        }
+        double step = after - before;
+        if (!isSteeperAndOpposite(step, delta(valuesY, i - 1), 1)
+                || !isSteeperAndOpposite(step, delta(valuesY, i + 1), 1)) {
+            return false;
+        }
+        for (int distance = 2; distance <= OUTER_SEGMENTS + 1; distance++) {
+            if (!isSteeperAndOpposite(step, delta(valuesY, i - distance), JUMP_RATIO)
+                    || !isSteeperAndOpposite(step, delta(valuesY, i + distance), JUMP_RATIO)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // EFFECTS: returns true if step is more than ratio times as large as neighbour and heads the opposite way
+    //          (false if neighbour is NaN)
+    private static boolean isSteeperAndOpposite(double step, double neighbour, double ratio) {
+        return Math.abs(step) > ratio * Math.abs(neighbour) && Math.signum(step) == -Math.signum(neighbour);
+    }
+
+    // EFFECTS: returns valuesY[i + 1] - valuesY[i], or NaN if that segment does not exist or is not finite
+    private static double delta(double[] valuesY, int i) {
+        if (i < 0 || i + 1 >= valuesY.length) {
+            return Double.NaN;
+        }
+        double result = valuesY[i + 1] - valuesY[i];
+        return Double.isFinite(result) ? result : Double.NaN;
+    }
+}
@@ -0,0 +1,220 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+// Represents a contiguous, primitive store of the (x,y) samples of a Function;
+// the x and y values are kept in two parallel double[] arrays of equal length
+// so that no boxing is needed to read or plot them
+public class SampleBuffer {
+    private static final long ARRAY_HEADER_BYTES = 16;
+    private static final double FENCE_QUANTILE = 0.05; // fencedRangeY() measures the middle 90% of a run's values
+    private static final double FENCE_FACTOR = 2.0; // and keeps values up to twice that spread beyond it
+
+    private final double[] valuesX;
+    private final double[] valuesY;
+    private volatile int[] runs; //drawable runs of the samples, found on first use (see getRuns())
+    private volatile double[] rangeY; //{smallest, largest} finite y-value, found at sampling time or on first use
+
+    // REQUIRES: valuesX and valuesY have the same length, and are not modified after being passed in
+    // EFFECTS: creates a SampleBuffer backed directly by valuesX and valuesY (no copy is made)
+    public SampleBuffer(double[] valuesX, double[] valuesY) {
+        this.valuesX = valuesX;
+        this.valuesY = valuesY;
+    }
+
+    // REQUIRES: same as SampleBuffer(valuesX, valuesY); minY and maxY are the smallest and largest finite values
+    //           in valuesY (NaN if there are none)
+    // EFFECTS: creates a SampleBuffer whose finite y-range was already found while sampling
+    SampleBuffer(double[] valuesX, double[] valuesY, double minY, double maxY) {
+        this(valuesX, valuesY);
+        rangeY = new double[] {minY, maxY};
+    }
+
+    // REQUIRES: 0 <= size <= length of valuesX and valuesY
+    // EFFECTS: creates a SampleBuffer holding the first "size" entries of valuesX and valuesY
+    public static SampleBuffer trimmedTo(double[] valuesX, double[] valuesY, int size) {
+        if (size == valuesX.length && size == valuesY.length) {
+            return new SampleBuffer(valuesX, valuesY);
+        }
+        return new SampleBuffer(Arrays.copyOf(valuesX, size), Arrays.copyOf(valuesY, size));
+    }
+
+    // EFFECTS: returns the number of samples
+    public int size() {
+        return valuesX.length;
+    }
+
+    // EFFECTS: returns the approximate heap footprint of the samples in bytes (two arrays of size() doubles)
+    public long getSizeInBytes() {
+        return 2 * (ARRAY_HEADER_BYTES + (long) Double.BYTES * valuesX.length);
+    }
+
+    // REQUIRES: 0 <= i < size()
+    // EFFECTS: returns the x-value of the i-th sample
+    public double getX(int i) {
+        return valuesX[i];
+    }
+
+    // REQUIRES: 0 <= i < size()
+    // EFFECTS: returns the y-value of the i-th sample
+    public double getY(int i) {
+        return valuesY[i];
+    }
+
+    // EFFECTS: returns the backing array of x-values (zero-copy);
+    //          ***callers must treat the returned array as read-only
+    public double[] getValuesX() {
+        return valuesX;
+    }
+
+    // EFFECTS: returns the backing array of y-values (zero-copy);
+    //          ***callers must treat the returned array as read-only
+    public double[] getValuesY() {
+        return valuesY;
+    }
+
+    // EFFECTS: returns the smallest finite y-value, or NaN if there is none
+    public double getMinY() {
+        return getRangeY()[0];
+    }
+
+    // EFFECTS: returns the largest finite y-value, or NaN if there is none
+    public double getMaxY() {
+        return getRangeY()[1];
+    }
+
+    // EFFECTS: returns {smallest, largest} finite y-value, scanning the samples once on the first call if the
+    //          range was not found while sampling
+    private double[] getRangeY() {
+        double[] result = rangeY;
+        if (result == null) {
+            result = new double[] {Double.NaN, Double.NaN};
+            for (double y : valuesY) {
+                result[0] = finiteMin(result[0], y);
+                result[1] = finiteMax(result[1], y);
+            }
+            rangeY = result;
+        }
+        return result;
+    }
+
+    // EFFECTS: returns {low, high} bounding the finite y-values worth fitting a view to, or null if there are none:
+    //          [getMinY(), getMaxY()] if no run ends at a jump across a vertical asymptote (see getRuns()), else
+    //          the smallest and largest of the runs' y-ranges, where the range of a run beside a jump leaves out
+    //          its outliers (the huge values sampled next to the asymptote, see fencedRangeY())
+    public double[] getFittingRangeY() {
+        int[] found = getRuns();
+        boolean jumps = false;
+        for (int run = 0; run < found.length; run += 2) {
+            jumps |= bordersJump(found, run);
+        }
+        if (!jumps) {
+            return Double.isNaN(getMinY()) ? null : new double[] {getMinY(), getMaxY()};
+        }
+        double[] result = {Double.NaN, Double.NaN};
+        for (int run = 0; run < found.length; run += 2) {
+            double[] range = bordersJump(found, run)
+                    ? fencedRangeY(found[run], found[run + 1]) : runRangeY(found[run], found[run + 1]);
+            result[0] = finiteMin(result[0], range[0]);
+            result[1] = finiteMax(result[1], range[1]);
+        }
+        return result;
+    }
+
+    // REQUIRES: run indexes the start of a run in runs, as returned by getRuns()
+    // EFFECTS: returns true if the run starts or ends at a jump, i.e. where the run before it ends or the run after
+    //          it starts (runs split at a non-finite sample have that sample between them)
+    private static boolean bordersJump(int[] runs, int run) {
+        return (run > 0 && runs[run - 1] == runs[run]) || (run + 2 < runs.length && runs[run + 1] == runs[run + 2]);
+    }
+
+    // REQUIRES: 0 <= start < end <= size(), and the y-values in [start, end) are finite
+    // EFFECTS: returns {smallest, largest} y-value in [start, end)
+    private double[] runRangeY(int start, int end) {
+        double[] result = {valuesY[start], valuesY[start]};
+        for (int i = start + 1; i < end; i++) {
+            result[0] = Math.min(result[0], valuesY[i]);
+            result[1] = Math.max(result[1], valuesY[i]);
+        }
+        return result;
+    }
+
+    // REQUIRES: 0 <= start < end <= size(), and the y-values in [start, end) are finite
+    // EFFECTS: returns {smallest, largest} y-value in [start, end) within FENCE_FACTOR times the spread of the
+    //          middle 90% of those values of that middle part, so outliers are left out
+    private double[] fencedRangeY(int start, int end) {
+        double[] sorted = Arrays.copyOfRange(valuesY, start, end);
+        Arrays.sort(sorted);
+        double lowQuantile = sorted[(int) Math.floor(FENCE_QUANTILE * (sorted.length - 1))];
+        double highQuantile = sorted[(int) Math.ceil((1 - FENCE_QUANTILE) * (sorted.length - 1))];
+        double spread = highQuantile - lowQuantile;
+        int low = 0;
+        while (sorted[low] < lowQuantile - FENCE_FACTOR * spread) {
+            low++;
+        }
+        int high = sorted.length - 1;
+        while (sorted[high] > highQuantile + FENCE_FACTOR * spread) {
+            high--;
+        }
+        return new double[] {sorted[low], sorted[high]};
+    }
+
+    // EFFECTS: returns the smaller of the finite values among min and value (NaN if neither is finite);
+    //          min must be finite or NaN
+    static double finiteMin(double min, double value) {
+        return (Double.isFinite(value) && !(value >= min)) ? value : min;
+    }
+
+    // EFFECTS: returns the larger of the finite values among max and value (NaN if neither is finite);
+    //          max must be finite or NaN
+    static double finiteMax(double max, double value) {
+        return (Double.isFinite(value) && !(value <= max)) ? value : max;
+    }
+
+    // EFFECTS: returns the runs of finite, continuous samples (split at NaN or infinite y-values and at jumps
+    //          across vertical asymptotes, see RunDetector) as pairs {start, end, ...} of index ranges [start, end)
+    //          with at least 2 samples each; they are found on the first call and kept with the samples
+    //          ***callers must treat the returned array as read-only
+    public int[] getRuns() {
+        int[] result = runs;
+        if (result == null) {
+            result = RunDetector.findRuns(valuesY);
+            runs = result;
+        }
+        return result;
+    }
+
+    // EFFECTS: returns a read-only List view of the x-values (boxes on each get())
+    public List<Double> asListX() {
+        return new ReadOnlyView(valuesX);
+    }
+
+    // EFFECTS: returns a read-only List view of the y-values (boxes on each get())
+    public List<Double> asListY() {
+        return new ReadOnlyView(valuesY);
+    }
+
+    // Read-only List<Double> view over a double[], kept for compatibility with List-based callers
+    private static class ReadOnlyView extends AbstractList<Double> {
+        private final double[] values;
+
+        // EFFECTS: creates a view over values
+        ReadOnlyView(double[] values) {
+            this.values = values;
+        }
+
+        @Override
+        // EFFECTS: returns the i-th value, boxed
+        public Double get(int i) {
+            return values[i];
+        }
+
+        @Override
+        // EFFECTS: returns the number of values
+        public int size() {
+            return values.length;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package model;
+
+import java.util.HashMap;
+
+// Content-addressed cache of domain samples, keyed by Function.getFingerprint(); Functions with the same
+// definition (type, constants and domain) that are acquired through the same cache share one SampleHandle,
+// and therefore one sample buffer. Entries are reference counted and evicted (freeing their samples) once
+// no Function in the workspace uses them
+public class SampleCache {
+    private final HashMap<Long, Entry> entries;
+
+    // EFFECTS: creates an empty cache
+    public SampleCache() {
+        entries = new HashMap<>();
+    }
+
+    // MODIFIES: this, func
+    // EFFECTS: registers one more use of func's definition; if an equal definition is already cached, func
+    //          switches to the cached samples, otherwise func's own samples become the cached ones
+    public synchronized void acquire(Function func) {
+        Entry entry = entries.get(func.getFingerprint());
+        if (entry == null) {
+            entries.put(func.getFingerprint(), new Entry(func));
+        } else if (entry.definition.equals(func)) {
+            entry.refCount++;
+            func.shareSamples(entry.handle);
+        }
+        // otherwise two different definitions collide on the fingerprint; func simply keeps its own samples
+    }
+
+    // REQUIRES: func was acquired through this cache
+    // MODIFIES: this
+    // EFFECTS: registers one less use of func's definition, evicting its entry once it is no longer used
+    public synchronized void release(Function func) {
+        Entry entry = entries.get(func.getFingerprint());
+        if (entry != null && entry.definition.equals(func)) {
+            entry.refCount--;
+            if (entry.refCount == 0) {
+                entries.remove(func.getFingerprint());
+                entry.handle.discard();
+            }
+        }
+    }
+
+    // EFFECTS: returns the number of distinct definitions in the cache
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // EFFECTS: returns the number of uses of func's definition registered in this cache (0 if it is not cached)
+    public synchronized int getRefCount(Function func) {
+        Entry entry = entries.get(func.getFingerprint());
+        return (entry != null && entry.definition.equals(func)) ? entry.refCount : 0;
+    }
+
+    // One cached definition with its shared samples and the number of Functions using them
+    private static class Entry {
+        private final Function definition;
+        private final SampleHandle handle;
+        private int refCount;
+
+        // EFFECTS: creates an entry used once, by func
+        Entry(Function func) {
+            definition = func;
+            handle = func.getSampleHandle();
+            refCount = 1;
+        }
+    }
+}
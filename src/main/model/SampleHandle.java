@@ -0,0 +1,99 @@
+package model;
+
+import java.util.function.Supplier;
+
+// Holds the domain samples of one function definition, computing them on first use and recomputing them if
+// the SampleStore evicted them; several equal Functions can share one handle (see SampleCache), and therefore
+// one immutable SampleBuffer. Once discarded (no function in a workspace uses the samples any more), a handle is
+// closed: it still computes samples for whoever holds one of its Functions (e.g. a render still running), but
+// neither keeps them nor lets the store account for them, so they never count against the store's budget
+class SampleHandle {
+    private final Supplier<SampleBuffer> sampler;
+    private final SampleStore store;
+    private volatile SampleBuffer buffer;
+    private volatile SamplePyramid pyramid; //level-of-detail summary of buffer, built on first use
+    private volatile boolean closed; //set by discard(); samples computed after that are not kept
+
+    // EFFECTS: creates a handle whose samples are computed by sampler and accounted for in the default store
+    SampleHandle(Supplier<SampleBuffer> sampler) {
+        this(sampler, SampleStore.getDefault());
+    }
+
+    // EFFECTS: creates a handle whose samples are computed by sampler and accounted for in store
+    SampleHandle(Supplier<SampleBuffer> sampler, SampleStore store) {
+        this.sampler = sampler;
+        this.store = store;
+    }
+
+    // MODIFIES: this, store
+    // EFFECTS: returns the samples, computing them on the first call (or the first call after an eviction, or
+    //          every call once closed)
+    SampleBuffer get() {
+        SampleBuffer result = buffer;
+        if (result != null) {
+            store.recordHit(this);
+            return result;
+        }
+
+        boolean computed = false;
+        synchronized (this) {
+            result = buffer;
+            if (result == null) {
+                result = sampler.get();
+                if (!closed) {
+                    buffer = result;
+                }
+                computed = true;
+            }
+        }
+
+        if (computed) {
+            store.admit(this, result.getSizeInBytes());
+        } else {
+            store.recordHit(this);
+        }
+        return result;
+    }
+
+    // MODIFIES: this, store
+    // EFFECTS: returns the level-of-detail pyramid over the samples, creating it (and computing the samples)
+    //          if needed; it is dropped together with the samples when they are evicted
+    synchronized SamplePyramid getPyramid() {
+        SampleBuffer samples = get();
+        SamplePyramid result = pyramid;
+        if (result == null || result.getBase() != samples) {
+            result = new SamplePyramid(samples);
+            if (!closed) {
+                pyramid = result;
+            }
+        }
+        return result;
+    }
+
+    // EFFECTS: returns true if the samples are currently held in memory
+    boolean isResident() {
+        return buffer != null;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: drops the samples; they are recomputed on the next get()
+    void evict() {
+        buffer = null;
+        pyramid = null;
+    }
+
+    // EFFECTS: returns true if this handle was discarded
+    boolean isClosed() {
+        return closed;
+    }
+
+    // MODIFIES: this, store
+    // EFFECTS: closes this handle, dropping the samples and removing them from the store's accounting
+    void discard() {
+        synchronized (this) {
+            closed = true;
+            evict();
+        }
+        store.discard(this);
+    }
+}
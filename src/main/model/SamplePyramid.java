@@ -0,0 +1,176 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+// Represents a multi-resolution (level-of-detail) summary of a SampleBuffer, like a mipmap: level 0 is the
+// samples themselves, and each bin of level k >= 1 covers 2^k consecutive samples and stores the indices of
+// its minimum and maximum samples. A query for a target number of points over an x-range reads only the
+// coarsest level that still has about that many bins, so it touches O(target) data, however many samples
+// there are. Levels are built lazily, each from the one below it, the first time a query needs them
+// ***the levels store int indices into the samples, so together they take about as much memory as the y-values
+public class SamplePyramid {
+    private final SampleBuffer base;
+    private final ArrayList<int[]> minIndices; //minIndices.get(k - 1)[bin] is the index of bin's minimum at level k
+    private final ArrayList<int[]> maxIndices; //maxIndices.get(k - 1)[bin] is the index of bin's maximum at level k
+
+    // REQUIRES: the x-values of base are increasing
+    // EFFECTS: creates a pyramid over base with no levels built yet
+    public SamplePyramid(SampleBuffer base) {
+        this.base = base;
+        minIndices = new ArrayList<>();
+        maxIndices = new ArrayList<>();
+    }
+
+    // EFFECTS: returns the samples this pyramid summarizes
+    public SampleBuffer getBase() {
+        return base;
+    }
+
+    // EFFECTS: returns the number of aggregated levels built so far (level 0 is always available)
+    public synchronized int getBuiltLevels() {
+        return minIndices.size();
+    }
+
+    // REQUIRES: left <= right, targetCount >= 2
+    // MODIFIES: this
+    // EFFECTS: returns about targetCount (at most 2 * targetCount + 8) of the samples with x in [left, right], in
+    //          increasing order of x: all of them if there are few enough, otherwise the first and last ones and
+    //          the minimum and maximum of each bin of the coarsest level with at least targetCount / 2 bins
+    //          in the range (building that level if needed)
+    public synchronized SampleBuffer query(double left, double right, int targetCount) {
+        double[] valuesX = base.getValuesX();
+        int first = lowerBound(valuesX, left);
+        int last = lowerBound(valuesX, Math.nextUp(right)) - 1;
+        if (first > last) {
+            return new SampleBuffer(new double[0], new double[0]);
+        }
+
+        int level = chooseLevel(last - first + 1, targetCount);
+        if (level == 0) {
+            return new SampleBuffer(Arrays.copyOfRange(valuesX, first, last + 1),
+                    Arrays.copyOfRange(base.getValuesY(), first, last + 1));
+        }
+        buildLevelsUpTo(level);
+        return collect(level, first, last);
+    }
+
+    // EFFECTS: returns 0 if span samples are at most targetCount, otherwise the coarsest level whose bins over
+    //          span samples still number at least targetCount / 2
+    private int chooseLevel(int span, int targetCount) {
+        if (span <= targetCount) {
+            return 0;
+        }
+        int bins = Math.max(1, targetCount / 2);
+        int level = 0;
+        while ((span >> (level + 1)) >= bins) {
+            level++;
+        }
+        return level;
+    }
+
+    // REQUIRES: level >= 1 has been built, 0 <= first <= last < base.size()
+    // EFFECTS: returns the samples at first and last, and the minimum and maximum of every level bin
+    //          overlapping [first, last] (those that lie within it), in increasing order and without repeats
+    private SampleBuffer collect(int level, int first, int last) {
+        int[] mins = minIndices.get(level - 1);
+        int[] maxs = maxIndices.get(level - 1);
+        int firstBin = first >> level;
+        int lastBin = last >> level;
+        int[] indices = new int[2 * (lastBin - firstBin + 1) + 2];
+        int size = 0;
+
+        indices[size++] = first;
+        for (int bin = firstBin; bin <= lastBin; bin++) {
+            int low = Math.min(mins[bin], maxs[bin]);
+            int high = Math.max(mins[bin], maxs[bin]);
+            size = append(indices, size, low, last);
+            size = append(indices, size, high, last);
+        }
+        size = append(indices, size, last, last);
+        return gather(indices, size);
+    }
+
+    // MODIFIES: indices
+    // EFFECTS: appends index to indices[0, size) if it comes after the last index there and is at most last,
+    //          and returns the new size
+    private static int append(int[] indices, int size, int index, int last) {
+        if (index > indices[size - 1] && index <= last) {
+            indices[size++] = index;
+        }
+        return size;
+    }
+
+    // EFFECTS: returns the samples at indices[0, size)
+    private SampleBuffer gather(int[] indices, int size) {
+        double[] valuesX = new double[size];
+        double[] valuesY = new double[size];
+        for (int i = 0; i < size; i++) {
+            valuesX[i] = base.getX(indices[i]);
+            valuesY[i] = base.getY(indices[i]);
+        }
+        return new SampleBuffer(valuesX, valuesY);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: builds every level up to and including level that is not built yet, each from the one below
+    private void buildLevelsUpTo(int level) {
+        for (int k = minIndices.size() + 1; k <= level; k++) {
+            int bins = binCount(k);
+            int childBins = binCount(k - 1);
+            int[] mins = new int[bins];
+            int[] maxs = new int[bins];
+            for (int bin = 0; bin < bins; bin++) {
+                int leftChild = 2 * bin;
+                int rightChild = Math.min(2 * bin + 1, childBins - 1);
+                mins[bin] = lower(minIndex(k - 1, leftChild), minIndex(k - 1, rightChild));
+                maxs[bin] = higher(maxIndex(k - 1, leftChild), maxIndex(k - 1, rightChild));
+            }
+            minIndices.add(mins);
+            maxIndices.add(maxs);
+        }
+    }
+
+    // EFFECTS: returns the number of bins at level
+    private int binCount(int level) {
+        return (int) ((base.size() + (1L << level) - 1) >> level);
+    }
+
+    // REQUIRES: level has been built
+    // EFFECTS: returns the index of the minimum sample of bin at level
+    private int minIndex(int level, int bin) {
+        return (level == 0) ? bin : minIndices.get(level - 1)[bin];
+    }
+
+    // REQUIRES: level has been built
+    // EFFECTS: returns the index of the maximum sample of bin at level
+    private int maxIndex(int level, int bin) {
+        return (level == 0) ? bin : maxIndices.get(level - 1)[bin];
+    }
+
+    // EFFECTS: returns whichever of the samples at i and j has the smaller y-value, preferring one that is not NaN
+    private int lower(int i, int j) {
+        return (base.getY(i) <= base.getY(j) || Double.isNaN(base.getY(j))) ? i : j;
+    }
+
+    // EFFECTS: returns whichever of the samples at i and j has the larger y-value, preferring one that is not NaN
+    private int higher(int i, int j) {
+        return (base.getY(i) >= base.getY(j) || Double.isNaN(base.getY(j))) ? i : j;
+    }
+
+    // EFFECTS: returns the index of the first value in the increasing array values that is >= x
+    //          (values.length if there is none)
+    private static int lowerBound(double[] values, double x) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] < x) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,119 @@
+package model;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Keeps track of the domain samples held in memory against a byte budget; when the budget is exceeded, the
+// least-recently-used sample buffers are evicted, and are transparently recomputed from their function's
+// definition the next time they are requested (see SampleHandle). Counts hits, misses and evictions
+// ***the default store's budget is set with -Dplotter.sampleBudget=<bytes>, accepting a k, m or g suffix
+// (e.g. 512m); without it, the budget is a quarter of the maximum heap size
+public class SampleStore {
+    public static final String BUDGET_PROPERTY = "plotter.sampleBudget";
+    private static final SampleStore DEFAULT = new SampleStore(parseBudget(System.getProperty(BUDGET_PROPERTY),
+            Runtime.getRuntime().maxMemory() / 4));
+
+    private final long budget;
+    private final LinkedHashMap<SampleHandle, Long> resident; //in least- to most-recently-used order
+    private long usedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    // REQUIRES: budget >= 0
+    // EFFECTS: creates an empty store that holds at most budget bytes of samples (apart from the most
+    //          recently computed buffer, which is always kept)
+    public SampleStore(long budget) {
+        this.budget = budget;
+        resident = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    // EFFECTS: returns the store used by all Functions
+    public static SampleStore getDefault() {
+        return DEFAULT;
+    }
+
+    // EFFECTS: returns the number of bytes given by value (e.g. "512m", "64k", "1g" or "1048576"),
+    //          or fallback if value is null or not a valid size
+    public static long parseBudget(String value, long fallback) {
+        if (value == null || value.trim().isEmpty()) {
+            return fallback;
+        }
+        String size = value.trim().toLowerCase();
+        long multiplier = 1;
+        int shift = "kmg".indexOf(size.charAt(size.length() - 1));
+        if (shift >= 0) {
+            multiplier = 1L << (10 * (shift + 1));
+            size = size.substring(0, size.length() - 1);
+        }
+        try {
+            return Math.max(0, Long.parseLong(size) * multiplier);
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records that handle's resident samples were requested again, marking them most recently used
+    synchronized void recordHit(SampleHandle handle) {
+        hits++;
+        resident.get(handle);
+    }
+
+    // MODIFIES: this, the evicted handles
+    // EFFECTS: records that handle's samples (of the given size) were just computed, then evicts the
+    //          least-recently-used samples until the store is within budget again; the samples of a closed
+    //          (discarded) handle are not kept, so they are not accounted for
+    synchronized void admit(SampleHandle handle, long bytes) {
+        misses++;
+        if (handle.isClosed()) {
+            return;
+        }
+        Long previous = resident.put(handle, bytes);
+        usedBytes += bytes - (previous == null ? 0 : previous);
+
+        Iterator<Map.Entry<SampleHandle, Long>> eldest = resident.entrySet().iterator();
+        while (usedBytes > budget && resident.size() > 1) {
+            Map.Entry<SampleHandle, Long> entry = eldest.next();
+            usedBytes -= entry.getValue();
+            eldest.remove();
+            entry.getKey().evict();
+            evictions++;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops accounting for handle's samples (e.g. because no function uses them any more)
+    synchronized void discard(SampleHandle handle) {
+        Long bytes = resident.remove(handle);
+        if (bytes != null) {
+            usedBytes -= bytes;
+        }
+    }
+
+    // EFFECTS: returns the byte budget
+    public long getBudget() {
+        return budget;
+    }
+
+    // EFFECTS: returns the number of bytes of samples currently held
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    // EFFECTS: returns the number of sample requests served from memory
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    // EFFECTS: returns the number of sample requests that had to (re)compute the samples
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    // EFFECTS: returns the number of sample buffers evicted to stay within the budget
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+}
@@ -0,0 +1,52 @@
+package model;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Represents a batch of per-function background tasks started by Workspace (e.g. sampleAll()), with one
+// completion future per function name and the ability to cancel whatever has not run yet
+// ***T is the result of each task (e.g. SampleBuffer for sampling)
+public class SamplingJob<T> {
+    private final Map<String, CompletableFuture<T>> futures;
+
+    // EFFECTS: creates a job over futures, keyed by function name
+    SamplingJob(HashMap<String, CompletableFuture<T>> futures) {
+        this.futures = Collections.unmodifiableMap(futures);
+    }
+
+    // EFFECTS: returns the completion future of the function called name, or null if it is not part of this job
+    public CompletableFuture<T> getFuture(String name) {
+        return futures.get(name);
+    }
+
+    // EFFECTS: returns all completion futures, keyed by function name
+    public Map<String, CompletableFuture<T>> getFutures() {
+        return futures;
+    }
+
+    // EFFECTS: returns a future that completes once every task of this job has completed or been cancelled
+    public CompletableFuture<Void> whenDone() {
+        CompletableFuture<?>[] all = futures.values().toArray(new CompletableFuture<?>[0]);
+        return CompletableFuture.allOf(all).handle((ignored, exception) -> null);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: cancels every task that has not completed yet; tasks that have not started will not run
+    public void cancel() {
+        for (CompletableFuture<T> future : futures.values()) {
+            future.cancel(false);
+        }
+    }
+
+    // EFFECTS: returns true if every task has completed or been cancelled
+    public boolean isDone() {
+        for (CompletableFuture<T> future : futures.values()) {
+            if (!future.isDone()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
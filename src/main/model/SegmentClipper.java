@@ -0,0 +1,92 @@
+package model;
+
+// Clips line segments to an axis-aligned rectangle with the Liang-Barsky algorithm, in double precision, so
+// that only the visible part of each segment is drawn and no coordinate far outside the rectangle (or NaN)
+// ever has to be converted to a pixel. Counts the segments submitted and the ones that were (partly) visible
+// ***not thread-safe: use one clipper per thread
+public class SegmentClipper {
+    private static final double LIMIT = 1e300; // infinite coordinates are treated as this far away
+    private final double left;
+    private final double top;
+    private final double right;
+    private final double bottom;
+    private long submitted;
+    private long drawn;
+
+    // REQUIRES: left <= right, top <= bottom
+    // EFFECTS: creates a clipper for the rectangle [left, right] x [top, bottom]
+    public SegmentClipper(double left, double top, double right, double bottom) {
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+    }
+
+    // REQUIRES: out.length >= 4
+    // MODIFIES: this, out
+    // EFFECTS: if any part of the segment from (x1, y1) to (x2, y2) lies in the rectangle, stores the endpoints
+    //          of that part in out as {x1, y1, x2, y2} and returns true; returns false if the segment lies
+    //          entirely outside the rectangle or has a NaN coordinate (an infinite coordinate is treated
+    //          as very far away in that direction)
+    public boolean clip(double fromX, double fromY, double toX, double toY, double[] out) {
+        submitted++;
+        double x1 = limit(fromX);
+        double y1 = limit(fromY);
+        double x2 = limit(toX);
+        double y2 = limit(toY);
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        double[] range = {0, 1}; // the visible part, as parameters t of (x1, y1) + t * (dx, dy)
+        boolean visible = clipEdge(-dx, x1 - left, range) && clipEdge(dx, right - x1, range)
+                && clipEdge(-dy, y1 - top, range) && clipEdge(dy, bottom - y1, range);
+        if (!visible) {
+            return false;
+        }
+
+        out[0] = (range[0] == 0) ? x1 : clamp(x1 + range[0] * dx, left, right);
+        out[1] = (range[0] == 0) ? y1 : clamp(y1 + range[0] * dy, top, bottom);
+        out[2] = (range[1] == 1) ? x2 : clamp(x1 + range[1] * dx, left, right);
+        out[3] = (range[1] == 1) ? y2 : clamp(y1 + range[1] * dy, top, bottom);
+        drawn++;
+        return true;
+    }
+
+    // MODIFIES: range
+    // EFFECTS: narrows range to the parameters t where p * t <= q (the inside of one edge of the rectangle);
+    //          returns false if no parameter in range is left (or p or q is NaN)
+    private static boolean clipEdge(double p, double q, double[] range) {
+        if (Double.isNaN(p) || Double.isNaN(q)) {
+            return false;
+        }
+        if (p == 0) {
+            return q >= 0; // parallel to the edge: visible only if on the inside of it
+        }
+        double t = q / p;
+        if (p < 0) {
+            range[0] = Math.max(range[0], t);
+        } else {
+            range[1] = Math.min(range[1], t);
+        }
+        return range[0] <= range[1];
+    }
+
+    // EFFECTS: returns value, with infinities replaced by -LIMIT or LIMIT
+    private static double limit(double value) {
+        return Math.max(-LIMIT, Math.min(LIMIT, value));
+    }
+
+    // EFFECTS: returns value limited to [low, high] (removing rounding error from an intersection point)
+    private static double clamp(double value, double low, double high) {
+        return Math.max(low, Math.min(high, value));
+    }
+
+    // EFFECTS: returns the number of segments submitted to clip()
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    // EFFECTS: returns the number of segments that were (at least partly) inside the rectangle
+    public long getDrawn() {
+        return drawn;
+    }
+}
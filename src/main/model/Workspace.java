@@ -3,30 +3,174 @@ package model;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
 
 // Represents the "workspace" of the program, where all of the function objects will reside
 public class Workspace {
+    // version of the JSON format written by toJson(): 2 stores only each function's definition; files without a
+    // version are version 1, which also stored every function's samples
+    public static final int JSON_VERSION = 2;
+    public static final String JSON_KEY_VERSION = "version"; //key of JSON_VERSION in the JSON of a workspace
+    public static final String JSON_KEY_FUNCTIONS = "functionList"; //key of the array of functions in it
+    // bounded pool shared by all workspaces for whole-workspace sampling/evaluation (one thread per core)
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "workspace-sampler");
+                thread.setDaemon(true);
+                return thread;
+            });
+    private static final long CANCEL_POLL_MILLIS = 20; //how often getRangeY(cancelled) checks for cancellation
+
     private HashMap<String, Function> functionList;
+    private SampleCache sampleCache; //lets functions with identical definitions share one sample buffer
+    private long version; //incremented on every change to functionList
+    private final List<WorkspaceListener> listeners;
+    private int batchDepth; //number of beginBatch() calls not yet matched by endBatch()
+    private LinkedHashMap<String, Function> batchAdded; //functions added since the last change was delivered
+    private LinkedHashSet<String> batchRemoved; //names removed since the last change was delivered
+    // ***the fields below are guarded by this, so getRangeX()/getRangeY() can be called from any thread
+    private final RangeTracker rangeX; //domains of all functions
+    private final RangeTracker rangeY; //y-ranges of the functions in rangesY
+    private final HashMap<String, double[]> rangesY; //name -> {low, high} y-range that name added to rangeY
+    private final HashMap<String, Function> pendingRangeY; //functions whose y-range is not in rangeY yet
 
     // EFFECTS: initializes a Workspace with an empty list of functions
     public Workspace() {
         functionList = new HashMap<>();
+        sampleCache = new SampleCache();
+        listeners = new ArrayList<>();
+        batchAdded = new LinkedHashMap<>();
+        batchRemoved = new LinkedHashSet<>();
+        rangeX = new RangeTracker();
+        rangeY = new RangeTracker();
+        rangesY = new HashMap<>();
+        pendingRangeY = new HashMap<>();
     }
 
     // REQUIRES: name must not be an empty string
     // MODIFIES: this, Function
-    // EFFECTS: adds a Function object to the list of functions with certain name
+    // EFFECTS: adds a Function object to the list of functions with certain name (replacing any function
+    //          already called name); func shares its samples with any identical function in the workspace;
+    //          the listeners are told about it (see beginBatch())
     public void addFunction(Function func, String name) {
-        functionList.put(name, func);
+        sampleCache.acquire(func);
+        Function replaced = functionList.put(name, func);
+        if (replaced != null) {
+            sampleCache.release(replaced);
+        }
+        synchronized (this) {
+            excludeRanges(name, replaced);
+            List<Double> domain = func.getDomain();
+            rangeX.add(domain.get(0), domain.get(1));
+            pendingRangeY.put(name, func);
+        }
+        version++;
+        batchRemoved.remove(name);
+        batchAdded.put(name, func);
+        deliverChange();
+    }
+
+    // MODIFIES: this, Function
+    // EFFECTS: adds every function of functions under its key (see addFunction()), as a single batch
+    public void addFunctions(Map<String, Function> functions) {
+        beginBatch();
+        try {
+            for (Map.Entry<String, Function> entry : functions.entrySet()) {
+                addFunction(entry.getValue(), entry.getKey());
+            }
+        } finally {
+            endBatch();
+        }
     }
 
     // REQUIRES: key "name" must exist in functionList
     // MODIFIES: this, Function
-    // EFFECTS: removes Function object corresponding to "name" key in functionList
+    // EFFECTS: removes Function object corresponding to "name" key in functionList, and tells the listeners
+    //          about it (see beginBatch())
     public void removeFunction(String name) {
-        functionList.remove(name);
+        Function removed = functionList.remove(name);
+        if (removed != null) {
+            sampleCache.release(removed);
+            synchronized (this) {
+                excludeRanges(name, removed);
+            }
+            version++;
+            batchAdded.remove(name);
+            batchRemoved.add(name);
+            deliverChange();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds listener, which is told about every later batch of changes
+    public void addListener(WorkspaceListener listener) {
+        listeners.add(listener);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops telling listener about changes
+    public void removeListener(WorkspaceListener listener) {
+        listeners.remove(listener);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts a batch: the changes made until the matching endBatch() are delivered to the listeners as
+    //          one WorkspaceChange (batches may be nested; only the outermost one delivers); outside a batch,
+    //          every change is delivered on its own
+    public void beginBatch() {
+        batchDepth++;
+    }
+
+    // REQUIRES: a batch was begun and not yet ended
+    // MODIFIES: this
+    // EFFECTS: ends the batch, delivering its changes if it is the outermost one
+    public void endBatch() {
+        batchDepth--;
+        deliverChange();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: unless in a batch, delivers the changes made since the last delivery (if any) to every listener
+    private void deliverChange() {
+        if (batchDepth > 0 || (batchAdded.isEmpty() && batchRemoved.isEmpty())) {
+            return;
+        }
+        WorkspaceChange change = new WorkspaceChange(batchAdded, batchRemoved, version);
+        batchAdded = new LinkedHashMap<>();
+        batchRemoved = new LinkedHashSet<>();
+        for (WorkspaceListener listener : new ArrayList<>(listeners)) {
+            listener.workspaceChanged(change);
+        }
+    }
+
+    // REQUIRES: holds the lock on this
+    // MODIFIES: this
+    // EFFECTS: takes the x- and y-ranges of func, which was called name, out of the workspace's ranges
+    private void excludeRanges(String name, Function func) {
+        if (func == null) {
+            return;
+        }
+        List<Double> domain = func.getDomain();
+        rangeX.remove(domain.get(0), domain.get(1));
+        pendingRangeY.remove(name);
+        double[] range = rangesY.remove(name);
+        if (range != null) {
+            rangeY.remove(range[0], range[1]);
+        }
     }
 
     // EFFECTS: returns Function object corresponding to key "name" in functionList, or null
@@ -44,12 +188,132 @@ public class Workspace {
         return functionList;
     }
 
+    // EFFECTS: returns the cache through which this workspace's functions share their samples
+    public SampleCache getSampleCache() {
+        return sampleCache;
+    }
+
+    // EFFECTS: returns the version of this workspace's contents, which increases whenever a function is
+    //          added, replaced or removed (so anything derived from the functions can be tagged with it)
+    public long getVersion() {
+        return version;
+    }
+
+    // EFFECTS: returns {smallest, largest} x-value over the domains of all functions, or null if there are none;
+    //          kept up to date as functions are added and removed, so no function is rescanned
+    public synchronized double[] getRangeX() {
+        return rangeX.getRange();
+    }
+
+    // EFFECTS: returns getRangeY(cancelled) for a caller that is never cancelled
+    public double[] getRangeY() {
+        return getRangeY(() -> false);
+    }
+
+    // EFFECTS: returns {low, high} bounding the y-values worth fitting a view to over all functions (see
+    //          Function.getFittingRangeY()), or null if there are none; each function's range is found once,
+    //          from a bounded number of samples, and kept here after that, so only functions added since the
+    //          last call are sampled (see sampleRangesY()), never while holding the lock (so this may be called
+    //          off the event dispatch thread); once cancelled returns true, the sampling job is cancelled, so
+    //          functions not started yet are skipped (and sampled on a later call)
+    public double[] getRangeY(BooleanSupplier cancelled) {
+        SamplingJob<double[]> job = sampleRangesY();
+        CompletableFuture<Void> done = job.whenDone();
+        while (!done.isDone()) {
+            if (cancelled.getAsBoolean()) {
+                job.cancel();
+            }
+            try {
+                done.get(CANCEL_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // not done yet: check for cancellation again
+            } catch (InterruptedException | ExecutionException e) {
+                job.cancel();
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            return rangeY.getRange();
+        }
+    }
+
+    // EFFECTS: starts finding the y-range worth fitting a view to (see Function.getFittingRangeY()) of every
+    //          function whose range the workspace does not know yet, concurrently, and returns the job holding one
+    //          completion future per function name; each range is added to the workspace's y-range as soon as it
+    //          is found, and a function whose range could not be found is left out rather than sampled again
+    public SamplingJob<double[]> sampleRangesY() {
+        List<Map.Entry<String, Function>> pending;
+        synchronized (this) {
+            pending = new ArrayList<>(pendingRangeY.entrySet());
+        }
+        HashMap<String, CompletableFuture<double[]>> futures = new HashMap<>();
+        for (Map.Entry<String, Function> entry : pending) {
+            String name = entry.getKey();
+            Function func = entry.getValue();
+            futures.put(name, submit(() -> {
+                double[] range = null;
+                try {
+                    range = func.getFittingRangeY();
+                    return range;
+                } finally {
+                    includeRangeY(name, func, range);
+                }
+            }));
+        }
+        return new SamplingJob<>(futures);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds range to the workspace's y-range as the range of func, called name, unless func was
+    //          removed or replaced since, or range is null (func has no finite values, or they could not be found)
+    private synchronized void includeRangeY(String name, Function func, double[] range) {
+        if (!pendingRangeY.remove(name, func)) {
+            return;
+        }
+        if (range != null) {
+            rangeY.add(range[0], range[1]);
+            rangesY.put(name, range);
+        }
+    }
+
     // EFFECTS: returns length of functionList
     public int getFunctionListLength() {
         return functionList.size();
     }
 
+    // EFFECTS: starts sampling every function in the workspace over its domain (see Function.getSamples())
+    //          concurrently, and returns the job holding one completion future per function name
+    public SamplingJob<SampleBuffer> sampleAll() {
+        HashMap<String, CompletableFuture<SampleBuffer>> futures = new HashMap<>();
+        for (Map.Entry<String, Function> entry : functionList.entrySet()) {
+            Function func = entry.getValue();
+            futures.put(entry.getKey(), submit(func::getSamples));
+        }
+        return new SamplingJob<>(futures);
+    }
+
+    // EFFECTS: starts evaluating every function in the workspace at all of xs concurrently (see
+    //          Function.evalFunction(double[], double[])), and returns the job holding one future per function name
+    public SamplingJob<double[]> evaluateAll(double[] xs) {
+        HashMap<String, CompletableFuture<double[]>> futures = new HashMap<>();
+        for (Map.Entry<String, Function> entry : functionList.entrySet()) {
+            Function func = entry.getValue();
+            futures.put(entry.getKey(), submit(() -> {
+                double[] out = new double[xs.length];
+                func.evalFunction(xs, out);
+                return out;
+            }));
+        }
+        return new SamplingJob<>(futures);
+    }
+
+    // EFFECTS: runs task on the shared bounded executor and returns its completion future
+    private static <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, EXECUTOR);
+    }
+
     // EFFECTS: returns Workspace object as JSONObject
+    //          ***persistence.JsonWriter streams the same object to file one function at a time
     public JSONObject toJson() {
         JSONObject json = new JSONObject();
         JSONArray funcArray = new JSONArray();
@@ -57,7 +321,8 @@ public class Workspace {
         for (String funcName : functionList.keySet()) {
             funcArray.put(functionList.get(funcName).toJson(funcName));
         }
-        json.put("functionList", funcArray);
+        json.put(JSON_KEY_VERSION, JSON_VERSION);
+        json.put(JSON_KEY_FUNCTIONS, funcArray);
 
         return json;
     }
@@ -0,0 +1,44 @@
+package model;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+// Represents one batch of changes to a Workspace's functions, as delivered to its WorkspaceListeners: the
+// functions added (or replaced) by name, in the order they were added, and the names removed
+// ***a name is in at most one of the two; a name added and then removed within the batch is reported as removed,
+// even if it was not in the workspace before the batch (so listeners should ignore names they do not know)
+public class WorkspaceChange {
+    private final Map<String, Function> added;
+    private final Set<String> removed;
+    private final long version;
+
+    // EFFECTS: creates a change adding added and removing removed, which left the workspace at version version
+    WorkspaceChange(LinkedHashMap<String, Function> added, LinkedHashSet<String> removed, long version) {
+        this.added = Collections.unmodifiableMap(added);
+        this.removed = Collections.unmodifiableSet(removed);
+        this.version = version;
+    }
+
+    // EFFECTS: returns the functions added or replaced, keyed by name, in the order they were added
+    public Map<String, Function> getAdded() {
+        return added;
+    }
+
+    // EFFECTS: returns the names of the functions removed
+    public Set<String> getRemoved() {
+        return removed;
+    }
+
+    // EFFECTS: returns the workspace version after the change (see Workspace.getVersion())
+    public long getVersion() {
+        return version;
+    }
+
+    // EFFECTS: returns true if the change adds and removes nothing
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty();
+    }
+}
@@ -0,0 +1,8 @@
+package model;
+
+// Represents something that is told about the changes to a Workspace's functions, one batch at a time
+// (see Workspace.beginBatch())
+public interface WorkspaceListener {
+    // EFFECTS: reacts to change, which has just been made to the workspace; called on the thread that made it
+    void workspaceChanged(WorkspaceChange change);
+}
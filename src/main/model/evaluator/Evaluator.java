@@ -0,0 +1,47 @@
+package model.evaluator;
+
+// Represents the evaluation strategy for one kind of Function; each Function is bound to a single
+// Evaluator at construction, which holds that function's constants in final primitive fields
+// ***subclasses override the batch methods with loops specialized for their type, written as
+// plain counted loops over arrays so that the JIT can unroll and vectorize them
+public abstract class Evaluator {
+    // grid samplers that carry state from one grid point to the next recompute it exactly (re-anchor) at the
+    // first requested index and at every multiple of ANCHOR_INTERVAL, so that sampling a grid in slices
+    // whose boundaries are multiples of ANCHOR_INTERVAL is bit-identical to sampling it in one go
+    public static final int ANCHOR_INTERVAL = 64;
+    protected static final double UNIT_ROUNDOFF = Math.ulp(1.0) / 2;
+
+    // EFFECTS: returns the function evaluated at x (i.e. returns f(x))
+    public abstract double eval(double x);
+
+    // REQUIRES: out.length >= xs.length
+    // MODIFIES: out
+    // EFFECTS: sets out[i] to the function evaluated at xs[i], for every index of xs
+    public void evalBatch(double[] xs, double[] out) {
+        for (int i = 0; i < xs.length; i++) {
+            out[i] = eval(xs[i]);
+        }
+    }
+
+    // REQUIRES: 0 <= first <= last <= out.length
+    // MODIFIES: out
+    // EFFECTS: sets out[i] to the function evaluated at start + i * step, for first <= i < last
+    public void evalGrid(double start, double step, int first, int last, double[] out) {
+        for (int i = first; i < last; i++) {
+            out[i] = eval(start + i * step);
+        }
+    }
+
+    // REQUIRES: 0 <= first <= last
+    // EFFECTS: returns an upper bound on how far evalGrid(start, step, first, last, ...) can stray from
+    //          eval(start + i * step); 0 unless the subclass samples grids with an incremental scheme
+    public double gridErrorBound(double start, double step, int first, int last) {
+        return 0;
+    }
+
+    // REQUIRES: segmentStart < last
+    // EFFECTS: returns the (exclusive) end of the re-anchoring segment that begins at segmentStart
+    protected static int segmentEnd(int segmentStart, int last) {
+        return Math.min(last, (segmentStart / ANCHOR_INTERVAL + 1) * ANCHOR_INTERVAL);
+    }
+}
@@ -0,0 +1,82 @@
+package model.evaluator;
+
+import static java.lang.Math.exp;
+
+// Evaluates a function of the type TYPE_EXP: a*e^(b*x) + c
+public final class ExponentialEvaluator extends Evaluator {
+    private final double constA;
+    private final double constB;
+    private final double constC;
+
+    // EFFECTS: creates an evaluator for a*e^(b*x) + c
+    public ExponentialEvaluator(double a, double b, double c) {
+        constA = a;
+        constB = b;
+        constC = c;
+    }
+
+    @Override
+    // EFFECTS: returns a*e^(b*x) + c
+    public double eval(double x) {
+        return constA * exp(constB * x) + constC;
+    }
+
+    @Override
+    // REQUIRES: out.length >= xs.length
+    // MODIFIES: out
+    // EFFECTS: sets out[i] to the function evaluated at xs[i], for every index of xs
+    public void evalBatch(double[] xs, double[] out) {
+        final double a = constA;
+        final double b = constB;
+        final double c = constC;
+        for (int i = 0; i < xs.length; i++) {
+            double x = xs[i];
+            out[i] = a * exp(b * x) + c;
+        }
+    }
+
+    @Override
+    // REQUIRES: 0 <= first <= last <= out.length
+    // MODIFIES: out
+    // EFFECTS: sets out[i] to the function evaluated at start + i * step, for first <= i < last;
+    //          e^(b*x) is computed with exp() at each anchor and advanced by one multiplication per step
+    //          ***a power that underflowed to 0 or a subnormal has lost (some or all of) its precision, so the
+    //          next point is re-anchored with exp() instead, as is every point if e^(b*step) itself is not a
+    //          normal number
+    public void evalGrid(double start, double step, int first, int last, double[] out) {
+        final double a = constA;
+        final double b = constB;
+        final double c = constC;
+        final double ratio = exp(b * step);
+        final boolean recurrent = ratio >= Double.MIN_NORMAL && ratio <= Double.MAX_VALUE;
+        int segmentStart = first;
+        while (segmentStart < last) {
+            int segmentEnd = segmentEnd(segmentStart, last);
+            double power = exp(b * (start + segmentStart * step));
+            for (int i = segmentStart; i < segmentEnd; i++) {
+                out[i] = a * power + c;
+                power = (recurrent && power >= Double.MIN_NORMAL) ? power * ratio : exp(b * (start + (i + 1) * step));
+            }
+            segmentStart = segmentEnd;
+        }
+    }
+
+    @Override
+    // REQUIRES: 0 <= first <= last
+    // EFFECTS: returns a first-order bound on the drift of the recurrence in evalGrid; after j steps e^(b*x)
+    //          carries a relative error of at most (2j + 3) unit roundoffs from exp(b*step) and the products,
+    //          plus the rounding of the argument b*x (and of x itself), which the direct evaluation does differently;
+    //          the count of steps restarts wherever evalGrid re-anchors after an underflow, so it stays an upper
+    //          bound, and the absolute rounding of a result in the subnormal range is added on top
+    public double gridErrorBound(double start, double step, int first, int last) {
+        if (first >= last) {
+            return 0;
+        }
+        double left = start + first * step;
+        double right = start + (last - 1) * step;
+        double largest = Math.max(exp(constB * left), exp(constB * right));
+        double argument = Math.abs(constB) * Math.max(Math.abs(left), Math.abs(right));
+        int steps = Math.min(last - first, ANCHOR_INTERVAL) - 1;
+        return Math.abs(constA) * largest * (2 * steps + 3 + 4 * argument) * UNIT_ROUNDOFF + Double.MIN_VALUE;
+    }
+}
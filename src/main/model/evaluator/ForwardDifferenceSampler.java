@@ -0,0 +1,178 @@
+package model.evaluator;
+
+// Samples a polynomial of degree <= 5 on a uniform grid using forward differences: after setting up the
+// difference table at an anchor point, each further sample costs one addition per degree instead of a
+// full Horner evaluation. The table is rebuilt exactly every Evaluator.ANCHOR_INTERVAL samples
+// (re-anchoring) so that the rounding error carried from one sample to the next stays bounded
+// ***anchors follow Evaluator.ANCHOR_INTERVAL, so slices of a grid can be sampled independently
+public final class ForwardDifferenceSampler {
+    public static final int MAX_DEGREE = 5;
+    private static final double UNIT_ROUNDOFF = Evaluator.UNIT_ROUNDOFF;
+    // STIRLING[m][k] = Stirling number of the second kind S(m, k), for 0 <= k <= m <= MAX_DEGREE
+    private static final double[][] STIRLING = {
+        {1},
+        {0, 1},
+        {0, 1, 1},
+        {0, 1, 3, 1},
+        {0, 1, 7, 6, 1},
+        {0, 1, 15, 25, 10, 1}
+    };
+
+    private final double[] coefficients; // coefficients[k] multiplies x^k
+    private final int degree;
+
+    // REQUIRES: 1 <= coefficients.length <= MAX_DEGREE + 1
+    // EFFECTS: creates a sampler for the polynomial sum(coefficients[k] * x^k)
+    public ForwardDifferenceSampler(double... coefficients) {
+        this.coefficients = coefficients.clone();
+        degree = coefficients.length - 1;
+    }
+
+    // REQUIRES: 0 <= first <= last <= out.length
+    // MODIFIES: out
+    // EFFECTS: sets out[i] to the polynomial evaluated at start + i * step, for first <= i < last
+    public void sample(double start, double step, int first, int last, double[] out) {
+        double[] table = new double[MAX_DEGREE + 1];
+        int segmentStart = first;
+        while (segmentStart < last) {
+            int segmentEnd = Evaluator.segmentEnd(segmentStart, last);
+            initDifferenceTable(start + segmentStart * step, step, table);
+            if (degree <= 1) {
+                stepLinear(table, segmentStart, segmentEnd, out);
+            } else {
+                stepQuintic(table, segmentStart, segmentEnd, out);
+            }
+            segmentStart = segmentEnd;
+        }
+    }
+
+    // REQUIRES: 0 <= first <= last
+    // EFFECTS: returns a first-order upper bound on |sample(...)[i] - p(start + i * step)| over first <= i < last,
+    //          where p(x) is evaluated exactly; i.e. the largest error forward differencing can introduce
+    public double errorBound(double start, double step, int first, int last) {
+        double bound = 0;
+        int segmentStart = first;
+        while (segmentStart < last) {
+            int segmentEnd = Evaluator.segmentEnd(segmentStart, last);
+            double x0 = start + segmentStart * step;
+            bound = Math.max(bound, segmentErrorBound(x0, step, segmentEnd - segmentStart - 1));
+            segmentStart = segmentEnd;
+        }
+        return bound;
+    }
+
+    // MODIFIES: out
+    // EFFECTS: steps a degree <= 1 difference table through [from, to), writing one sample per index
+    private void stepLinear(double[] table, int from, int to, double[] out) {
+        double d0 = table[0];
+        final double d1 = table[1];
+        out[from] = d0;
+        for (int i = from + 1; i < to; i++) {
+            d0 += d1;
+            out[i] = d0;
+        }
+    }
+
+    // MODIFIES: out
+    // EFFECTS: steps a degree <= 5 difference table through [from, to), writing one sample per index
+    private void stepQuintic(double[] table, int from, int to, double[] out) {
+        double d0 = table[0];
+        double d1 = table[1];
+        double d2 = table[2];
+        double d3 = table[3];
+        double d4 = table[4];
+        final double d5 = table[5];
+        out[from] = d0;
+        for (int i = from + 1; i < to; i++) {
+            d0 += d1;
+            d1 += d2;
+            d2 += d3;
+            d3 += d4;
+            d4 += d5;
+            out[i] = d0;
+        }
+    }
+
+    // MODIFIES: table
+    // EFFECTS: sets table[k] to the k-th forward difference of p at x0 with spacing h, computed exactly
+    //          from the Taylor expansion of p about x0 (table[0] is p(x0) by Horner's rule)
+    private void initDifferenceTable(double x0, double h, double[] table) {
+        double[] shifted = taylorCoefficients(coefficients, x0, h);
+        table[0] = shifted[0];
+        for (int k = 1; k <= MAX_DEGREE; k++) {
+            double sum = 0;
+            for (int m = k; m <= degree; m++) {
+                sum += shifted[m] * factorial(k) * STIRLING[m][k];
+            }
+            table[k] = sum;
+        }
+    }
+
+    // REQUIRES: steps >= 0
+    // EFFECTS: returns the error bound for one segment anchored at x0 and stepped "steps" times
+    private double segmentErrorBound(double x0, double h, int steps) {
+        double[] absolute = new double[coefficients.length];
+        for (int k = 0; k < coefficients.length; k++) {
+            absolute[k] = Math.abs(coefficients[k]);
+        }
+        double[] shifted = taylorCoefficients(absolute, Math.abs(x0), Math.abs(h));
+
+        double bound = 0;
+        for (int k = 0; k <= degree; k++) {
+            double initial = 0; // magnitude of the k-th difference at the anchor
+            double largest = 0; // magnitude of the k-th difference anywhere in the segment
+            for (int m = k; m <= degree; m++) {
+                initial += shifted[m] * factorial(k) * STIRLING[m][k];
+                largest += shifted[m] * differenceOfPower(m, k, steps);
+            }
+            bound += binomial(steps, k) * (4 * degree + 4) * initial + binomial(steps, k + 1) * largest;
+        }
+        return UNIT_ROUNDOFF * bound;
+    }
+
+    // EFFECTS: returns t where p(x0 + j * h) = sum(t[m] * j^m), for the polynomial p = sum(c[k] * x^k)
+    private static double[] taylorCoefficients(double[] c, double x0, double h) {
+        int n = c.length - 1;
+        double[] shifted = c.clone();
+        for (int k = 0; k < n; k++) { // repeated synthetic division by (x - x0)
+            for (int i = n - 1; i >= k; i--) {
+                shifted[i] += x0 * shifted[i + 1];
+            }
+        }
+        double power = 1;
+        for (int m = 0; m <= n; m++) {
+            shifted[m] *= power;
+            power *= h;
+        }
+        return shifted;
+    }
+
+    // REQUIRES: j >= 0
+    // EFFECTS: returns the k-th forward difference of x^m at x = j, which grows with j
+    private static double differenceOfPower(int m, int k, int j) {
+        double result = 0;
+        for (int i = 0; i <= k; i++) {
+            double sign = ((k - i) % 2 == 0) ? 1 : -1;
+            result += sign * binomial(k, i) * Math.pow(j + i, m);
+        }
+        return Math.abs(result);
+    }
+
+    // EFFECTS: returns k!
+    private static double factorial(int k) {
+        double result = 1;
+        for (int i = 2; i <= k; i++) {
+            result *= i;
+        }
+        return result;
+    }
+
+    // EFFECTS: returns the binomial coefficient (n choose k), 0 if k > n
+    private static double binomial(int n, int k) {
+        double result = 1;
+        for (int i = 0; i < k; i++) {
+            result = result * (n - i) / (i + 1);
+        }
+        return Math.max(result, 0);
+    }
+}
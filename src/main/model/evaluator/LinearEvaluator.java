@@ -0,0 +1,50 @@
+package model.evaluator;
+
+// Evaluates a function of the type TYPE_LINEAR: a*x + b
+public final class LinearEvaluator extends Evaluator {
+    private final double constA;
+    private final double constB;
+    private final ForwardDifferenceSampler sampler;
+
+    // EFFECTS: creates an evaluator for a*x + b
+    public LinearEvaluator(double a, double b) {
+        constA = a;
+        constB = b;
+        sampler = new ForwardDifferenceSampler(constB, constA);
+    }
+
+    @Override
+    // EFFECTS: returns a*x + b
+    public double eval(double x) {
+        return constA * x + constB;
+    }
+
+    @Override
+    // REQUIRES: out.length >= xs.length
+    // MODIFIES: out
+    // EFFECTS: sets out[i] to the function evaluated at xs[i], for every index of xs
+    public void evalBatch(double[] xs, double[] out) {
+        final double a = constA;
+        final double b = constB;
+        for (int i = 0; i < xs.length; i++) {
+            double x = xs[i];
+            out[i] = a * x + b;
+        }
+    }
+
+    @Override
+    // REQUIRES: 0 <= first <= last <= out.length
+    // MODIFIES: out
+    // EFFECTS: sets out[i] to the function evaluated at start + i * step, for first <= i < last,
+    //          stepping through the grid with forward differences (see ForwardDifferenceSampler)
+    public void evalGrid(double start, double step, int first, int last, double[] out) {
+        sampler.sample(start, step, first, last, out);
+    }
+
+    @Override
+    // REQUIRES: 0 <= first <= last
+    // EFFECTS: returns the error bound of forward differencing over the grid (see ForwardDifferenceSampler)
+    public double gridErrorBound(double start, double step, int first, int last) {
+        return sampler.errorBound(start, step, first, last);
+    }
+}
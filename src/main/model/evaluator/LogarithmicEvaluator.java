@@ -0,0 +1,51 @@
+package model.evaluator;
+
+import static java.lang.Math.log;
+
+// Evaluates a function of the type TYPE_LOG: a*ln(b*x) + c
+public final class LogarithmicEvaluator extends Evaluator {
+    private final double constA;
+    private final double constB;
+    private final double constC;
+
+    // EFFECTS: creates an evaluator for a*ln(b*x) + c
+    public LogarithmicEvaluator(double a, double b, double c) {
+        constA = a;
+        constB = b;
+        constC = c;
+    }
+
+    @Override
+    // EFFECTS: returns a*ln(b*x) + c (NaN where b*x <= 0)
+    public double eval(double x) {
+        return constA * log(constB * x) + constC;
+    }
+
+    @Override
+    // REQUIRES: out.length >= xs.length
+    // MODIFIES: out
+    // EFFECTS: sets out[i] to the function evaluated at xs[i], for every index of xs
+    public void evalBatch(double[] xs, double[] out) {
+        final double a = constA;
+        final double b = constB;
+        final double c = constC;
+        for (int i = 0; i < xs.length; i++) {
+            double x = xs[i];
+            out[i] = a * log(b * x) + c;
+        }
+    }
+
+    @Override
+    // REQUIRES: 0 <= first <= last <= out.length
+    // MODIFIES: out
+    // EFFECTS: sets out[i] to the function evaluated at start + i * step, for first <= i < last
+    public void evalGrid(double start, double step, int first, int last, double[] out) {
+        final double a = constA;
+        final double b = constB;
+        final double c = constC;
+        for (int i = first; i < last; i++) {
+            double x = start + i * step;
+            out[i] = a * log(b * x) + c;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package model.evaluator;
+
+// Evaluates a function of the type TYPE_POLY: a*x^5 + b*x^4 + c*x^3 + d*x^2 + e*x + f
+public final class PolynomialEvaluator extends Evaluator {
+    private final double constA;
+    private final double constB;
+    private final double constC;
+    private final double constD;
+    private final double constE;
+    private final double constF;
+    private final ForwardDifferenceSampler sampler;
+
+    // EFFECTS: creates an evaluator for a*x^5 + b*x^4 + c*x^3 + d*x^2 + e*x + f
+    public PolynomialEvaluator(double a, double b, double c, double d, double e, double f) {
+        constA = a;
+        constB = b;
+        constC = c;
+        constD = d;
+        constE = e;
+        constF = f;
+        sampler = new ForwardDifferenceSampler(constF, constE, constD, constC, constB, constA);
+    }
+
+    @Override
+    // EFFECTS: returns a*x^5 + b*x^4 + c*x^3 + d*x^2 + e*x + f (in Horner form)
+    public double eval(double x) {
+        return ((((constA * x + constB) * x + constC) * x + constD) * x + constE) * x + constF;
+    }
+
+    @Override
+    // REQUIRES: out.length >= xs.length
+    // MODIFIES: out
+    // EFFECTS: sets out[i] to the function evaluated at xs[i], for every index of xs
+    public void evalBatch(double[] xs, double[] out) {
+        final double a = constA;
+        final double b = constB;
+        final double c = constC;
+        final double d = constD;
+        final double e = constE;
+        final double f = constF;
+        for (int i = 0; i < xs.length; i++) {
+            double x = xs[i];
+            out[i] = ((((a * x + b) * x + c) * x + d) * x + e) * x + f;
+        }
+    }
+
+    @Override
+    // REQUIRES: 0 <= first <= last <= out.length
+    // MODIFIES: out
+    // EFFECTS: sets out[i] to the function evaluated at start + i * step, for first <= i < last,
+    //          stepping through the grid with forward differences (see ForwardDifferenceSampler)
+    public void evalGrid(double start, double step, int first, int last, double[] out) {
+        sampler.sample(start, step, first, last, out);
+    }
+
+    @Override
+    // REQUIRES: 0 <= first <= last
+    // EFFECTS: returns the error bound of forward differencing over the grid (see ForwardDifferenceSampler)
+    public double gridErrorBound(double start, double step, int first, int last) {
+        return sampler.errorBound(start, step, first, last);
+    }
+}
@@ -0,0 +1,133 @@
+package model.evaluator;
+
+import static java.lang.Math.cos;
+import static java.lang.Math.sin;
+import static java.lang.Math.tan;
+
+// Evaluates a function of the type TYPE_TRIG: a*sin(b*x) + c*cos(d*x) + e*tan(f*x) + g
+public final class TrigonometricEvaluator extends Evaluator {
+    private final double constA;
+    private final double constB;
+    private final double constC;
+    private final double constD;
+    private final double constE;
+    private final double constF;
+    private final double constG;
+
+    // EFFECTS: creates an evaluator for a*sin(b*x) + c*cos(d*x) + e*tan(f*x) + g
+    public TrigonometricEvaluator(double a, double b, double c, double d, double e, double f, double g) {
+        constA = a;
+        constB = b;
+        constC = c;
+        constD = d;
+        constE = e;
+        constF = f;
+        constG = g;
+    }
+
+    @Override
+    // EFFECTS: returns a*sin(b*x) + c*cos(d*x) + e*tan(f*x) + g
+    public double eval(double x) {
+        return constA * sin(constB * x) + constC * cos(constD * x) + constE * tan(constF * x) + constG;
+    }
+
+    @Override
+    // REQUIRES: out.length >= xs.length
+    // MODIFIES: out
+    // EFFECTS: sets out[i] to the function evaluated at xs[i], for every index of xs
+    public void evalBatch(double[] xs, double[] out) {
+        final double a = constA;
+        final double b = constB;
+        final double c = constC;
+        final double d = constD;
+        final double e = constE;
+        final double f = constF;
+        final double g = constG;
+        for (int i = 0; i < xs.length; i++) {
+            double x = xs[i];
+            out[i] = a * sin(b * x) + c * cos(d * x) + e * tan(f * x) + g;
+        }
+    }
+
+    @Override
+    // REQUIRES: 0 <= first <= last <= out.length
+    // MODIFIES: out
+    // EFFECTS: sets out[i] to the function evaluated at start + i * step, for first <= i < last;
+    //          each (sin, cos) pair is computed with Math.sin/cos at each anchor and then advanced by a
+    //          rotation through the angle (constant * step), and tan is taken as sin/cos of its own pair
+    public void evalGrid(double start, double step, int first, int last, double[] out) {
+        double[] rotations = {cos(constB * step), sin(constB * step), cos(constD * step), sin(constD * step),
+            cos(constF * step), sin(constF * step)};
+        int segmentStart = first;
+        while (segmentStart < last) {
+            int segmentEnd = segmentEnd(segmentStart, last);
+            rotateSegment(start + segmentStart * step, rotations, segmentStart, segmentEnd, out);
+            segmentStart = segmentEnd;
+        }
+    }
+
+    // MODIFIES: out
+    // EFFECTS: fills out[from..to) starting from the exact values at x0 and rotating each pair once per index
+    private void rotateSegment(double x0, double[] rotations, int from, int to, double[] out) {
+        final double a = constA;
+        final double c = constC;
+        final double e = constE;
+        final double g = constG;
+        double sinB = sin(constB * x0);
+        double cosB = cos(constB * x0);
+        double cosD = cos(constD * x0);
+        double sinD = sin(constD * x0);
+        double sinF = sin(constF * x0);
+        double cosF = cos(constF * x0);
+        for (int i = from; i < to; i++) {
+            out[i] = a * sinB + c * cosD + e * (sinF / cosF) + g;
+            double nextSinB = sinB * rotations[0] + cosB * rotations[1];
+            cosB = cosB * rotations[0] - sinB * rotations[1];
+            sinB = nextSinB;
+            double nextSinD = sinD * rotations[2] + cosD * rotations[3];
+            cosD = cosD * rotations[2] - sinD * rotations[3];
+            sinD = nextSinD;
+            double nextSinF = sinF * rotations[4] + cosF * rotations[5];
+            cosF = cosF * rotations[4] - sinF * rotations[5];
+            sinF = nextSinF;
+        }
+    }
+
+    @Override
+    // REQUIRES: 0 <= first <= last
+    // EFFECTS: returns a first-order bound on the drift of the rotations in evalGrid; each rotation adds a few
+    //          unit roundoffs to a (sin, cos) pair, which the tan term divides by cos^2 (so the bound is
+    //          infinite if the grid crosses an asymptote of tan(f*x))
+    public double gridErrorBound(double start, double step, int first, int last) {
+        if (first >= last) {
+            return 0;
+        }
+        double left = start + first * step;
+        double right = start + (last - 1) * step;
+        double reach = Math.max(Math.abs(left), Math.abs(right));
+        int steps = Math.min(last - first, ANCHOR_INTERVAL) - 1;
+        double bound = Math.abs(constA) * pairError(constB, reach, steps)
+                + Math.abs(constC) * pairError(constD, reach, steps);
+        if (constE != 0 && constF != 0) {
+            double smallestCos = smallestAbsCos(constF * left, constF * right);
+            bound += Math.abs(constE) * 2 * pairError(constF, reach, steps) / (smallestCos * smallestCos);
+        }
+        return bound;
+    }
+
+    // EFFECTS: returns the absolute error bound of the (sin(k*x), cos(k*x)) pair after the given number of steps,
+    //          including the rounding of the angle k*x (and of x itself), which the direct evaluation does differently
+    private static double pairError(double k, double reach, int steps) {
+        return (6 * steps + 2 + 4 * Math.abs(k) * reach) * UNIT_ROUNDOFF;
+    }
+
+    // EFFECTS: returns the smallest |cos(theta)| for theta between the two angles (0 if cos has a zero there)
+    private static double smallestAbsCos(double angle1, double angle2) {
+        double zeroIndex1 = Math.floor((angle1 - Math.PI / 2) / Math.PI);
+        double zeroIndex2 = Math.floor((angle2 - Math.PI / 2) / Math.PI);
+        if (zeroIndex1 != zeroIndex2) {
+            return 0;
+        }
+        return Math.min(Math.abs(cos(angle1)), Math.abs(cos(angle2)));
+    }
+}
@@ -0,0 +1,31 @@
+package model.evaluator;
+
+import java.util.Arrays;
+
+import static java.lang.Double.NaN;
+
+// Evaluates a function whose type is not one of the known Function types; always returns NaN
+public final class UndefinedEvaluator extends Evaluator {
+
+    @Override
+    // EFFECTS: returns NaN
+    public double eval(double x) {
+        return NaN;
+    }
+
+    @Override
+    // REQUIRES: out.length >= xs.length
+    // MODIFIES: out
+    // EFFECTS: sets out[i] to NaN, for every index of xs
+    public void evalBatch(double[] xs, double[] out) {
+        Arrays.fill(out, 0, xs.length, NaN);
+    }
+
+    @Override
+    // REQUIRES: 0 <= first <= last <= out.length
+    // MODIFIES: out
+    // EFFECTS: sets out[i] to NaN, for first <= i < last
+    public void evalGrid(double start, double step, int first, int last, double[] out) {
+        Arrays.fill(out, first, last, NaN);
+    }
+}
@@ -4,18 +4,24 @@ import model.Function;
 import model.Workspace;
 import org.json.JSONArray;
 import org.json.JSONObject;
+import org.json.JSONTokener;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.stream.Stream;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
 
 // Represents a reader that reads a workspace from JSON data stored in a file
 // CITATION: modelled after JsonSerializationDemo's JsonReader class, with slight modifications
-// to read() and parseWorkspace() (with accompanying populateWorkspace() and populateConstantsAndDomain())
+// to read() and parseWorkspace() (with accompanying parseFunctionList() and populateConstantsAndDomain())
 // https://github.students.cs.ubc.ca/CPSC210/JsonSerializationDemo/commit/d79763d7ed5bb61196c51570598336948efe1202
 public class JsonReader {
     private String source;
@@ -28,50 +34,119 @@ public class JsonReader {
     // EFFECTS: reads workroom from file and returns it;
     // throws IOException if an error occurs reading data from file
     public Workspace read() throws IOException {
-        String jsonData = readFile(source);
-        JSONObject jsonObject = new JSONObject(jsonData);
-        return parseWorkspace(jsonObject);
+        Workspace workspace = new Workspace();
+        read((name, func) -> workspace.addFunction(func, name), (done, total) -> true);
+        return workspace;
     }
 
-    // EFFECTS: reads source file as string and returns it
-    private String readFile(String source) throws IOException {
-        StringBuilder contentBuilder = new StringBuilder();
-
-        try (Stream<String> stream = Files.lines(Paths.get(source), StandardCharsets.UTF_8)) {
-            stream.forEach(s -> contentBuilder.append(s));
+    // EFFECTS: reads the functions from file one at a time, as the file is parsed, passing each to handler in
+    //          file order and then telling progress how many bytes of the file have been read so far; stops as
+    //          soon as progress returns false. Returns true if the whole file was read;
+    //          throws IOException if an error occurs reading data from file, and JSONException if it is malformed
+    // ***the file is parsed as a stream (see parseWorkspace()), so it is never held in memory all at once
+    public boolean read(BiConsumer<String, Function> handler, Progress progress) throws IOException {
+        Path path = Paths.get(source);
+        long size = Files.size(path);
+        try (CountingInputStream in = new CountingInputStream(Files.newInputStream(path))) {
+            JSONTokener tokener = new JSONTokener(new InputStreamReader(in, StandardCharsets.UTF_8));
+            return parseWorkspace(tokener, (name, func) -> {
+                handler.accept(name, func);
+                return progress.update(Math.min(in.getCount(), size), size);
+            });
         }
+    }
 
-        return contentBuilder.toString();
+    // MODIFIES: tokener
+    // EFFECTS: parses a workspace object from tokener, passing the functions of its "functionList" to handler as
+    //          they are parsed (any other members are skipped); returns false if handler stopped the parse
+    //          by returning false, true otherwise
+    // ***reads every version up to Workspace.JSON_VERSION; the samples stored by version 1 files are skipped,
+    //    since Function recomputes them
+    private boolean parseWorkspace(JSONTokener tokener, BiPredicate<String, Function> handler) {
+        expect(tokener, '{');
+        if (tokener.nextClean() == '}') {
+            return true;
+        }
+        tokener.back();
+        do {
+            String key = tokener.nextValue().toString();
+            expect(tokener, ':');
+            if (key.equals(Workspace.JSON_KEY_FUNCTIONS)) {
+                if (!parseFunctionList(tokener, handler)) {
+                    return false;
+                }
+            } else if (key.equals(Workspace.JSON_KEY_VERSION)) {
+                checkVersion(tokener);
+            } else {
+                tokener.nextValue();
+            }
+        } while (isFollowedByAnother(tokener, '}'));
+        return true;
     }
 
-    // REQUIRES: jsonObject is the JSONObject of the whole data file
-    // MODIFIES: Workspace
-    // EFFECTS: parses workspace from JSON object and returns it
-    private Workspace parseWorkspace(JSONObject jsonObject) {
-        //String name = jsonObject.getString("name");
-        Workspace workspace = new Workspace();
-        populateWorkspace(workspace, jsonObject);
-        return workspace;
+    // MODIFIES: tokener
+    // EFFECTS: parses an array of function objects from tokener, passing each function to handler as soon as it
+    //          is parsed; returns false if handler returned false (leaving the rest unparsed), true otherwise
+    private boolean parseFunctionList(JSONTokener tokener, BiPredicate<String, Function> handler) {
+        expect(tokener, '[');
+        if (tokener.nextClean() == ']') {
+            return true;
+        }
+        tokener.back();
+        do {
+            Object value = tokener.nextValue();
+            if (!(value instanceof JSONObject)) {
+                throw tokener.syntaxError("A function must be a JSON object");
+            }
+            JSONObject funcJson = (JSONObject) value;
+            if (!handler.test(funcJson.getString("name"), parseFunction(funcJson))) {
+                return false;
+            }
+        } while (isFollowedByAnother(tokener, ']'));
+        return true;
     }
 
-    // REQUIRES: workspace must be empty, workspaceJson is the JSONObject representing the workspace
-    // MODIFIES: Workspace
-    // EFFECTS: populates the workspace with JSON data stored in workspaceJson
-    private void populateWorkspace(Workspace workspace, JSONObject workspaceJson) {
-        JSONArray funcArray = workspaceJson.getJSONArray("functionList");
-        for (int i = 0; i < funcArray.length(); i++) {
-            JSONObject funcJson = funcArray.getJSONObject(i);
-            HashMap<String, Double> constants = new HashMap<>();
-            ArrayList<Double> domain = new ArrayList<>();
+    // REQUIRES: funcJson is a JSONObject representing a Function object
+    // EFFECTS: creates the Function stored in funcJson
+    private Function parseFunction(JSONObject funcJson) {
+        HashMap<String, Double> constants = new HashMap<>();
+        ArrayList<Double> domain = new ArrayList<>();
+
+        //populate constants and domain
+        populateConstantsAndDomain(funcJson, constants, domain);
 
-            //populate constants and domain
-            populateConstantsAndDomain(funcJson, constants, domain);
+        //create Function object
+        return new Function(funcJson.getString("type"), constants, domain);
+    }
 
-            //create Function object
-            Function func = new Function(funcJson.getString("type"), constants, domain);
+    // MODIFIES: tokener
+    // EFFECTS: reads the format version from tokener, throwing JSONException if it is newer than
+    //          Workspace.JSON_VERSION (so the file may hold data this reader would lose)
+    private static void checkVersion(JSONTokener tokener) {
+        Object version = tokener.nextValue();
+        if (!(version instanceof Number) || ((Number) version).intValue() > Workspace.JSON_VERSION) {
+            throw tokener.syntaxError("Unsupported workspace format version " + version);
+        }
+    }
 
-            //add to workspace
-            workspace.addFunction(func, funcJson.getString("name"));
+    // MODIFIES: tokener
+    // EFFECTS: reads the character after a member of an object or array from tokener: returns true if it is a
+    //          comma (so another member follows), false if it is closing (the end of the object or array)
+    private static boolean isFollowedByAnother(JSONTokener tokener, char closing) {
+        char next = tokener.nextClean();
+        if (next == ',') {
+            return true;
+        } else if (next == closing) {
+            return false;
+        }
+        throw tokener.syntaxError("Expected a ',' or '" + closing + "'");
+    }
+
+    // MODIFIES: tokener
+    // EFFECTS: reads the next non-whitespace character from tokener, which must be expected
+    private static void expect(JSONTokener tokener, char expected) {
+        if (tokener.nextClean() != expected) {
+            throw tokener.syntaxError("Expected a '" + expected + "'");
         }
     }
 
@@ -88,4 +163,41 @@ public class JsonReader {
         domain.add(domainJson.getDouble(0));
         domain.add(domainJson.getDouble(1));
     }
+
+    // Input stream that counts the bytes read through it, so reading progress can be reported
+    private static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        // EFFECTS: creates a stream reading through to in
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        // MODIFIES: this
+        // EFFECTS: reads one byte, counting it
+        public int read() throws IOException {
+            int result = super.read();
+            if (result >= 0) {
+                count++;
+            }
+            return result;
+        }
+
+        @Override
+        // MODIFIES: this, buffer
+        // EFFECTS: reads up to length bytes into buffer, counting them
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int result = super.read(buffer, offset, length);
+            if (result > 0) {
+                count += result;
+            }
+            return result;
+        }
+
+        // EFFECTS: returns the number of bytes read so far
+        long getCount() {
+            return count;
+        }
+    }
 }
@@ -1,11 +1,13 @@
 package persistence;
 
+import model.Function;
 import model.Workspace;
 import org.json.JSONObject;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.PrintWriter;
+import java.util.Map;
 
 // Represents a writer that writes the JSON representation of a workspace to file
 // CITATION: modelled after JsonSerializationDemo's JsonWriter class
@@ -30,8 +32,28 @@ public class JsonWriter {
     // MODIFIES: this
     // EFFECTS: writes JSON representation of workspace to file
     public void write(Workspace workspace) {
-        JSONObject json = workspace.toJson();
-        writer.print(json.toString(TAB_SIZE));
+        write(workspace.getFunctionList(), (done, total) -> true);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the JSON representation of a workspace holding functions (as in Workspace.toJson()) to file
+    //          one function at a time, telling progress how many functions have been written after each; stops
+    //          as soon as progress returns false, leaving the file incomplete. Returns true if every function
+    //          was written
+    public boolean write(Map<String, Function> functions, Progress progress) {
+        writer.print("{" + JSONObject.quote(Workspace.JSON_KEY_VERSION) + ": " + Workspace.JSON_VERSION + ", "
+                + JSONObject.quote(Workspace.JSON_KEY_FUNCTIONS) + ": [");
+        int written = 0;
+        for (Map.Entry<String, Function> entry : functions.entrySet()) {
+            writer.print((written == 0) ? "\n" : ",\n");
+            writer.print(entry.getValue().toJson(entry.getKey()).toString(TAB_SIZE));
+            written++;
+            if (!progress.update(written, functions.size())) {
+                return false;
+            }
+        }
+        writer.print("\n]}");
+        return true;
     }
 
     // MODIFIES: this
@@ -0,0 +1,8 @@
+package persistence;
+
+// Represents something following the progress of a long read or write (see JsonReader and JsonWriter), which
+// can also stop it early
+public interface Progress {
+    // EFFECTS: records that done out of total units of work are finished; returns false to stop the work
+    boolean update(long done, long total);
+}
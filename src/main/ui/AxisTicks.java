@@ -0,0 +1,42 @@
+package ui;
+
+import java.math.BigDecimal;
+
+// Represents the spacing of the unit markings on the axes: a "round" number of the form 1, 2 or 5 times a
+// power of ten, so that the labels stay short at any zoom level
+final class AxisTicks {
+    private static final int[] MANTISSAS = {1, 2, 5, 10};
+
+    private final int mantissa;
+    private final int exponent;
+
+    // EFFECTS: creates a spacing of mantissa * 10^exponent
+    private AxisTicks(int mantissa, int exponent) {
+        this.mantissa = mantissa;
+        this.exponent = exponent;
+    }
+
+    // REQUIRES: minSpacing > 0
+    // EFFECTS: returns the smallest spacing of the form 1, 2 or 5 times a power of ten that is >= minSpacing
+    static AxisTicks atLeast(double minSpacing) {
+        int exponent = (int) Math.floor(Math.log10(minSpacing));
+        for (int mantissa : MANTISSAS) {
+            if (mantissa * Math.pow(10, exponent) >= minSpacing) {
+                return (mantissa == 10) ? new AxisTicks(1, exponent + 1) : new AxisTicks(mantissa, exponent);
+            }
+        }
+        return new AxisTicks(1, exponent + 1); // only reachable through rounding in log10
+    }
+
+    // EFFECTS: returns the spacing between markings, in units of the plane
+    double getSpacing() {
+        return mantissa * Math.pow(10, exponent);
+    }
+
+    // EFFECTS: returns the label of the index-th marking from the origin (at index * getSpacing()), written
+    //          exactly, without trailing zeros or exponent notation (e.g. "-0.4", "1.6", "2000")
+    String label(long index) {
+        return BigDecimal.valueOf(index * mantissa).scaleByPowerOfTen(exponent).stripTrailingZeros()
+                .toPlainString();
+    }
+}
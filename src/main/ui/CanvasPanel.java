@@ -1,122 +1,300 @@
 package ui;
 
-import model.Function;
 import model.Workspace;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
 import java.util.HashMap;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
-// The panel where all of the graphical plotting of the Function objects happens
+// The panel where all of the graphical plotting of the Function objects happens; the plane can be panned by
+// dragging with the mouse and zoomed with the mouse wheel (only along y while shift is held). Until the user
+// pans or zooms, the view is fitted to the workspace's functions whenever they change; double-clicking fits it
+// again and turns this back on. Functions are drawn on tiles of the plane that are
+// rendered in the background (see CanvasRenderer) and cached, so panning only renders newly exposed tiles; the
+// axes are likewise drawn once per viewport onto an image of their own, which is redrawn after a pan, zoom or resize
 // ***CITATION: I learned the basics of various Swing components from the YouTube channel "Bro Code"
 // https://www.youtube.com/channel/UC4SVo0Ue36XCfOyb5Lh1viQ, as well as from Oracle Java Swing tutorials
 // https://docs.oracle.com/javase/tutorial/uiswing/index.html
 public class CanvasPanel extends JPanel {
     public static final int WIDTH = 500;
     public static final int HEIGHT = 500;
-    public static final int PX_PER_MARKING_X = WIDTH / 10; // distance between x-unit markings in pixels
-    public static final int PX_PER_MARKING_Y = HEIGHT / 10; // distance between y-unit markings in pixels
+    public static final int PX_PER_MARKING = WIDTH / 10; // minimum distance between unit markings in pixels
     public static final int MARKING_SIZE = 10; // length of unit markings in pixels
     public static final int FONT_SIZE = 16;
     public static final int DIGIT_OFFSET_Y = FONT_SIZE + 25; // y-distance of unit marking digits from axes in pixels
     public static final int DIGIT_OFFSET_X = FONT_SIZE / 2; // x-distance of unit marking digits from axes in pixels
+    public static final int OVERSAMPLING = 8; // samples per pixel column, before decimation
+    public static final int DRAG_RENDER_MILLIS = 50; // a drag starts at most one render per this many milliseconds
+    private static final Font FONT = new Font("Calibri", Font.PLAIN, FONT_SIZE);
 
     private Workspace workspace;
+    private Viewport viewport; // the part of the plane on screen
+    private boolean autoFit; // whether refresh() fits the viewport to the workspace
+    private TileCache tileCache;
+    private Map<TileKey, Tile> previews; // coarse tiles shown until the running render finishes
+    private long renderedVersion; // workspace version of the last finished render (-1 if there is none)
+    private CanvasRenderer renderer; // the most recently started render
+    private BufferedImage gridLayer; // the axes as seen through gridViewport (null if they must be redrawn)
+    private Viewport gridViewport; // the viewport gridLayer was drawn for
+    private final Timer dragRender; // starts the render for the viewport a drag has reached
+    private final AtomicLong segmentsSubmitted; // segments of all rendered polylines, before clipping
+    private final AtomicLong segmentsDrawn; // segments of all rendered polylines left after clipping
 
     // REQUIRES: workspace is this program's active workspace object
-    // EFFECTS: creates the graphical plotting panel
+    // EFFECTS: creates the graphical plotting panel, showing the plane around the origin
     public CanvasPanel(Workspace workspace) {
         setPreferredSize(new Dimension(WIDTH, HEIGHT));
         this.workspace = workspace;
+        viewport = Viewport.centered(WIDTH, HEIGHT);
+        autoFit = true;
+        tileCache = new TileCache(TileCache.DEFAULT_CAPACITY);
+        previews = new HashMap<>();
+        renderedVersion = -1;
+        segmentsSubmitted = new AtomicLong();
+        segmentsDrawn = new AtomicLong();
+        dragRender = new Timer(DRAG_RENDER_MILLIS, e -> refresh());
+        dragRender.setRepeats(false);
         setOpaque(true);
+
+        PanZoomListener listener = new PanZoomListener();
+        addMouseListener(listener);
+        addMouseMotionListener(listener);
+        addMouseWheelListener(listener);
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                gridLayer = null;
+            }
+        });
+        refresh();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts rendering the visible tiles that are not cached yet on background threads (after fitting
+    //          the viewport to the workspace, if auto-fit is on), cancelling the previous render if it has not
+    //          finished; the panel repaints itself as tiles become available
+    public void refresh() {
+        if (renderer != null) {
+            renderer.cancel(false);
+        }
+        renderer = new CanvasRenderer(this, viewport, autoFit ? workspace : null,
+                new HashSet<>(workspace.getFunctionList().values()), workspace.getVersion());
+        renderer.execute();
     }
 
     @Override
     // MODIFIES: this
-    // EFFECTS: paints all the graphics to the panel
+    // EFFECTS: paints all the graphics to the panel: the axes (redrawing their image first if the viewport has
+    //          changed since it was drawn), then every visible tile (the cached one for the current workspace,
+    //          else its preview, else the one from the last finished render, if any)
     protected void paintComponent(Graphics g) {
         super.paintComponent(g); //CITATION: https://docs.oracle.com/javase/tutorial/uiswing/painting/step2.html
-        Graphics2D g2d = (Graphics2D) g;
-        g2d.setFont(new Font("Calibri", Font.PLAIN, FONT_SIZE));
+        if (gridLayer == null || gridViewport != viewport) {
+            drawGridLayer();
+        }
+        g.drawImage(gridLayer, 0, 0, null);
+
+        for (TileKey key : viewport.getVisibleTiles(workspace.getVersion())) {
+            Tile tile = findTile(key);
+            if (tile != null) {
+                g.drawImage(tile.getImage(), (int) (key.getPixelX() - viewport.getOriginX()),
+                        (int) (key.getPixelY() - viewport.getOriginY()), null);
+            }
+        }
+    }
+
+    // EFFECTS: returns the best tile available to show for key, or null if there is none
+    private Tile findTile(TileKey key) {
+        Tile tile = tileCache.get(key);
+        if (tile == null) {
+            tile = previews.get(key);
+        }
+        if (tile == null) {
+            tile = tileCache.get(key.withVersion(renderedVersion));
+        }
+        return tile;
+    }
 
-        drawGridLines(g2d);
-        drawWorkspace(g2d);
+    // MODIFIES: this
+    // EFFECTS: draws the axes as seen through the current viewport onto a new grid layer, in the panel's
+    //          foreground colour
+    private void drawGridLayer() {
+        gridLayer = createImage(getGraphicsConfiguration(), WIDTH, HEIGHT);
+        gridViewport = viewport;
+        Graphics2D g = gridLayer.createGraphics();
+        g.setColor(getForeground());
+        g.setFont(FONT);
+        drawGridLines(g);
+        g.dispose();
     }
 
-    // REQUIRES: g is the Graphics2D object inside paintComponent()
+    // REQUIRES: g draws onto the grid layer
     // MODIFIES: this
-    // EFFECTS: draws the gridlines, including axes, unit markings, and digits
+    // EFFECTS: draws the x and y axes through the origin (or along the nearest edge of the panel, if the origin
+    //          is off screen), with unit markings and digits spaced for the current zoom level
     private void drawGridLines(Graphics2D g) {
-        // draw x and y axes
-        g.drawLine(0, HEIGHT / 2, WIDTH, HEIGHT / 2);
-        g.drawLine(WIDTH / 2, HEIGHT, WIDTH / 2, 0);
-
-        // draw unit markings
-        for (int i = 1; i * PX_PER_MARKING_X <= WIDTH; i++) {
-            g.drawLine(i * PX_PER_MARKING_X, (HEIGHT - MARKING_SIZE) / 2,
-                    i * PX_PER_MARKING_X, (HEIGHT + MARKING_SIZE) / 2);
-            g.drawLine((WIDTH - MARKING_SIZE) / 2, i * PX_PER_MARKING_Y,
-                    (WIDTH + MARKING_SIZE) / 2, i * PX_PER_MARKING_Y);
-        }
+        int axisRow = clamp((int) Math.floor(viewport.toPanelY(0)), 0, HEIGHT - 1);
+        int axisColumn = clamp((int) Math.floor(viewport.toPanelX(0)), 0, WIDTH - 1);
+        g.drawLine(0, axisRow, WIDTH, axisRow);
+        g.drawLine(axisColumn, HEIGHT, axisColumn, 0);
 
-        // draw digits on unit markings
-        g.drawString("-0.4", 4 * PX_PER_MARKING_X - DIGIT_OFFSET_X, (HEIGHT + DIGIT_OFFSET_Y) / 2);
-        g.drawString("0.4", 6 * PX_PER_MARKING_X - DIGIT_OFFSET_X, (HEIGHT + DIGIT_OFFSET_Y) / 2);
-        g.drawString("-0.4", (WIDTH + 2 * DIGIT_OFFSET_X) / 2, 6 * PX_PER_MARKING_Y + DIGIT_OFFSET_Y / 7);
-        g.drawString("0.4", (WIDTH + 2 * DIGIT_OFFSET_X) / 2, 4 * PX_PER_MARKING_Y + DIGIT_OFFSET_Y / 7);
-        g.drawString("-1.6", PX_PER_MARKING_X - DIGIT_OFFSET_X, (HEIGHT + DIGIT_OFFSET_Y) / 2);
-        g.drawString("1.6", 9 * PX_PER_MARKING_X - DIGIT_OFFSET_X, (HEIGHT + DIGIT_OFFSET_Y) / 2);
-        g.drawString("-1.6", (WIDTH + 2 * DIGIT_OFFSET_X) / 2, 9 * PX_PER_MARKING_Y + DIGIT_OFFSET_Y / 7);
-        g.drawString("1.6", (WIDTH + 2 * DIGIT_OFFSET_X) / 2, PX_PER_MARKING_Y + DIGIT_OFFSET_Y / 7);
+        drawMarkingsX(g, AxisTicks.atLeast(PX_PER_MARKING * viewport.getUnitsPerPixelX()), axisRow);
+        drawMarkingsY(g, AxisTicks.atLeast(PX_PER_MARKING * viewport.getUnitsPerPixelY()), axisColumn);
     }
 
-    // REQUIRES: g is the Graphics2D object inside paintComponent()
     // MODIFIES: this
-    // EFFECTS: plots the functions in the workspace onto this panel
-    private void drawWorkspace(Graphics2D g) {
-        HashMap<String, Function> functions = workspace.getFunctionList();
-        for (String funcName : functions.keySet()) {
-            drawFunction(g, functions.get(funcName));
+    // EFFECTS: draws the unit markings and digits along the x-axis, which is at panel row axisRow
+    private void drawMarkingsX(Graphics2D g, AxisTicks ticks, int axisRow) {
+        double spacing = ticks.getSpacing();
+        long first = (long) Math.ceil(viewport.toWorldX(0) / spacing);
+        long last = (long) Math.floor(viewport.toWorldX(WIDTH) / spacing);
+        int digitRow = Math.min(axisRow + DIGIT_OFFSET_Y / 2, HEIGHT - MARKING_SIZE / 2);
+        for (long i = first; i <= last; i++) {
+            if (i != 0) {
+                int column = (int) Math.floor(viewport.toPanelX(i * spacing));
+                g.drawLine(column, axisRow - MARKING_SIZE / 2, column, axisRow + MARKING_SIZE / 2);
+                g.drawString(ticks.label(i), column - DIGIT_OFFSET_X, digitRow);
+            }
         }
     }
 
-    // REQUIRES: g is the Graphics2D object inside paintComponent(),
-    //           function is a Function object inside the workspace
     // MODIFIES: this
-    // EFFECTS: plots the function onto this panel
-    private void drawFunction(Graphics2D g, Function function) {
-        List<Double> valuesX = function.getValuesX();
-        List<Double> valuesY = function.getValuesY();
-        List<Double> domain = function.getDomain();
-
-        // draw lines between each (x,y) point of the function
-        for (int i = 0; i < valuesX.size(); i++) {
-            if (i == 0 || i == valuesX.size() - 1) {
-                // skip first and last point, as plotting those properly requires
-                // calculating the derivative of the function at that point
-                continue;
-            } else {
-                int x1 = convertCartesianXToPanelCoordinates(valuesX.get(i), domain);
-                int y1 = convertCartesianYToPanelCoordinates(valuesY.get(i), domain);
-                int x2 = convertCartesianXToPanelCoordinates(valuesX.get(i + 1), domain);
-                int y2 = convertCartesianYToPanelCoordinates(valuesY.get(i + 1), domain);
-                g.drawLine(x1, y1, x2, y2);
+    // EFFECTS: draws the unit markings and digits along the y-axis, which is at panel column axisColumn
+    private void drawMarkingsY(Graphics2D g, AxisTicks ticks, int axisColumn) {
+        double spacing = ticks.getSpacing();
+        long first = (long) Math.ceil(viewport.toWorldY(HEIGHT) / spacing);
+        long last = (long) Math.floor(viewport.toWorldY(0) / spacing);
+        int digitColumn = Math.min(axisColumn + DIGIT_OFFSET_X, WIDTH - 4 * DIGIT_OFFSET_X);
+        for (long i = first; i <= last; i++) {
+            if (i != 0) {
+                int row = (int) Math.floor(viewport.toPanelY(i * spacing));
+                g.drawLine(axisColumn - MARKING_SIZE / 2, row, axisColumn + MARKING_SIZE / 2, row);
+                g.drawString(ticks.label(i), digitColumn, row + DIGIT_OFFSET_Y / 7);
             }
         }
     }
 
-    // REQUIRES: domain is the domain returned from a Function object
-    // EFFECTS: converts x cartesian coordinate to canvas panel x coordinate
-    private int convertCartesianXToPanelCoordinates(double cartesianCoord, List<Double> domain) {
-        double conversionFactor = WIDTH / (domain.get(1) - domain.get(0)); //converts from cart. to px
-        return (int) ((WIDTH / 2) + (cartesianCoord * conversionFactor));
+    // EFFECTS: returns value limited to [low, high]
+    private static int clamp(int value, int low, int high) {
+        return Math.max(low, Math.min(high, value));
     }
 
-    // REQUIRES: domain is the domain returned from a Function object
-    // EFFECTS: converts y cartesian coordinate to canvas panel y coordinate
-    private int convertCartesianYToPanelCoordinates(double cartesianCoord, List<Double> codomain) {
-        double conversionFactor = HEIGHT / (codomain.get(1) - codomain.get(0)); //converts from cart. to px
-        return (int) ((HEIGHT / 2) - (cartesianCoord * conversionFactor));
+    // EFFECTS: returns a new, fully transparent width x height image, in the preferred format of configuration
+    //          (so that copying it to the screen is fast) if it is not null
+    static BufferedImage createImage(GraphicsConfiguration configuration, int width, int height) {
+        if (configuration == null) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
+        return configuration.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+
+    // REQUIRES: called on the event dispatch thread
+    // MODIFIES: this
+    // EFFECTS: moves to rendered, the viewport of the running render, and shows the preview tiles in tiles until
+    //          that render finishes
+    void showPreviews(Map<TileKey, Tile> tiles, Viewport rendered) {
+        viewport = rendered;
+        previews = tiles;
+        repaint();
+    }
+
+    // REQUIRES: called on the event dispatch thread
+    // MODIFIES: this
+    // EFFECTS: moves to rendered, the viewport of the finished render, records that every tile of it for workspace
+    //          version version is cached, and repaints
+    void finishRender(long version, Viewport rendered) {
+        viewport = rendered;
+        renderedVersion = version;
+        previews = new HashMap<>();
+        repaint();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the segment counts of one rendered polyline to the totals (may be called from any thread)
+    void recordSegments(long submitted, long drawn) {
+        segmentsSubmitted.addAndGet(submitted);
+        segmentsDrawn.addAndGet(drawn);
+    }
+
+    // EFFECTS: returns the number of segments submitted for drawing so far, before clipping to their tiles
+    public long getSegmentsSubmitted() {
+        return segmentsSubmitted.get();
+    }
+
+    // EFFECTS: returns the number of segments actually drawn so far (the rest were entirely outside their tiles)
+    public long getSegmentsDrawn() {
+        return segmentsDrawn.get();
+    }
+
+    // EFFECTS: returns the cache of rendered tiles
+    TileCache getTileCache() {
+        return tileCache;
+    }
+
+    // EFFECTS: returns the workspace version of the last finished render (-1 if there is none)
+    long getRenderedVersion() {
+        return renderedVersion;
+    }
+
+    // Pans the viewport when the mouse is dragged, zooms it about the mouse when the wheel is turned (turning
+    // auto-fit off), and fits it to the workspace again on a double-click
+    private class PanZoomListener extends MouseAdapter {
+        private Point lastDrag;
+
+        @Override
+        // MODIFIES: this
+        // EFFECTS: remembers where a drag starts
+        public void mousePressed(MouseEvent e) {
+            lastDrag = e.getPoint();
+        }
+
+        @Override
+        // MODIFIES: CanvasPanel.this
+        // EFFECTS: moves the plane along with the mouse at once, and renders the newly exposed tiles once the
+        //          pending drag render fires (so the drag events in between share a single render of wherever the
+        //          plane has been moved to by then, rather than each starting one)
+        public void mouseDragged(MouseEvent e) {
+            viewport = viewport.pan(e.getX() - lastDrag.x, e.getY() - lastDrag.y);
+            autoFit = false;
+            lastDrag = e.getPoint();
+            repaint();
+            if (!dragRender.isRunning()) {
+                dragRender.start();
+            }
+        }
+
+        @Override
+        // MODIFIES: CanvasPanel.this
+        // EFFECTS: zooms in one level per wheel notch turned away from the user (out, towards the user), along
+        //          y only if shift is held
+        public void mouseWheelMoved(MouseWheelEvent e) {
+            if (e.isShiftDown()) {
+                viewport = viewport.zoomY(-e.getWheelRotation(), e.getY());
+            } else {
+                viewport = viewport.zoom(-e.getWheelRotation(), e.getX(), e.getY());
+            }
+            autoFit = false;
+            repaint();
+            refresh();
+        }
+
+        @Override
+        // MODIFIES: CanvasPanel.this
+        // EFFECTS: on a double-click, fits the view to the workspace and keeps it fitted as functions change
+        public void mouseClicked(MouseEvent e) {
+            if (e.getClickCount() == 2) {
+                autoFit = true;
+                refresh();
+            }
+        }
     }
 }
@@ -0,0 +1,147 @@
+package ui;
+
+import model.Function;
+import model.Workspace;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+// Renders the tiles of a CanvasPanel's viewport that are not in its tile cache, on background threads (tiles
+// are rendered in parallel). A tile whose previous version (from the panel's last finished render) only lacks
+// some functions is copied and just those functions are drawn over it, so adding a function costs one
+// function per tile; any other tile is first rendered from a coarse sampling and published as a preview, then
+// rendered at full resolution into the cache. The panel only ever receives finished tile images to copy.
+// When asked to fit the workspace, the renderer first fits the viewport to the workspace's x- and y-ranges (which
+// may sample newly added functions, see Workspace.getRangeY(cancelled)) and renders that viewport
+// ***a CanvasPanel cancels its renderer when the workspace or viewport changes again; a cancelled renderer
+// skips the tiles it has not started and never hands over its previews
+class CanvasRenderer extends SwingWorker<Void, Map<TileKey, Tile>> {
+    public static final int COARSE_SAMPLES = (TileKey.TILE_SIZE + 2) / 4; // samples per function per preview tile
+    public static final int FINE_SAMPLES = (TileKey.TILE_SIZE + 2) * CanvasPanel.OVERSAMPLING;
+
+    private final CanvasPanel canvas;
+    private final TileCache cache;
+    private final Viewport viewport; // the viewport on screen when this render started
+    private final Workspace fitTo; // the workspace to fit the viewport to, or null to keep it
+    private volatile Viewport target; // the viewport being rendered, once chosen
+    private final Set<Function> functions; // snapshot of the workspace's functions
+    private final long version; // the workspace version of functions
+    private final long baseVersion; // the workspace version of the panel's last finished render
+    private final GraphicsConfiguration configuration;
+    private final Color color;
+
+    // REQUIRES: called on the event dispatch thread; functions is not modified afterwards
+    // EFFECTS: creates a renderer of the tiles of viewport, or of the viewport fitted to fitTo if it is not null,
+    //          showing functions (workspace version version)
+    CanvasRenderer(CanvasPanel canvas, Viewport viewport, Workspace fitTo, Set<Function> functions, long version) {
+        this.canvas = canvas;
+        this.viewport = viewport;
+        this.fitTo = fitTo;
+        this.functions = functions;
+        this.version = version;
+        target = viewport;
+        cache = canvas.getTileCache();
+        baseVersion = canvas.getRenderedVersion();
+        configuration = canvas.getGraphicsConfiguration();
+        color = canvas.getForeground();
+    }
+
+    @Override
+    // MODIFIES: the tile cache
+    // EFFECTS: chooses the viewport to render, then renders every visible tile of it that is not cached,
+    //          publishing coarse previews of those that cannot be derived from their previous version first
+    protected Void doInBackground() {
+        if (fitTo != null) {
+            target = fitViewport();
+        }
+        List<TileKey> keys = target.getVisibleTiles(version);
+        List<TileKey> missing = keys.stream().filter(key -> cache.get(key) == null).collect(Collectors.toList());
+
+        Map<TileKey, Tile> previews = new ConcurrentHashMap<>();
+        missing.parallelStream().filter(key -> !isCancelled() && findBase(key) == null)
+                .forEach(key -> previews.put(key, render(key, null, COARSE_SAMPLES)));
+        if (!previews.isEmpty()) {
+            publish(previews);
+        }
+
+        missing.parallelStream().filter(key -> !isCancelled())
+                .forEach(key -> cache.put(key, render(key, findBase(key), FINE_SAMPLES)));
+        return null;
+    }
+
+    // EFFECTS: returns viewport fitted to the x- and y-ranges of fitTo's functions, or viewport if there are none
+    //          (a cancelled render stops sampling the functions whose y-range is not known yet)
+    private Viewport fitViewport() {
+        double[] rangeX = fitTo.getRangeX();
+        double[] rangeY = fitTo.getRangeY(this::isCancelled);
+        if (rangeX == null || rangeY == null) {
+            return viewport;
+        }
+        return Viewport.fit(rangeX[0], rangeX[1], rangeY[0], rangeY[1], viewport.getWidth(), viewport.getHeight());
+    }
+
+    // EFFECTS: returns the cached tile at key's position from the last finished render, if it shows only
+    //          functions that are still in the workspace (so it can be completed by drawing the others), else null
+    private Tile findBase(TileKey key) {
+        Tile base = cache.get(key.withVersion(baseVersion));
+        return (base != null && functions.containsAll(base.getFunctions())) ? base : null;
+    }
+
+    // EFFECTS: returns the tile of key showing every function, drawing over a copy of base (if not null) only the
+    //          functions that base does not show, each sampled with sampleCount points
+    private Tile render(TileKey key, Tile base, int sampleCount) {
+        BufferedImage image = CanvasPanel.createImage(configuration, TileKey.TILE_SIZE, TileKey.TILE_SIZE);
+        Graphics2D g = image.createGraphics();
+        if (base != null) {
+            g.drawImage(base.getImage(), 0, 0, null);
+        }
+        g.setColor(color);
+        for (Function function : functions) {
+            if (base == null || !base.getFunctions().contains(function)) {
+                Polyline polyline = Polyline.build(function, key, sampleCount);
+                polyline.draw(g);
+                canvas.recordSegments(polyline.getSubmitted(), polyline.getDrawn());
+            }
+        }
+        g.dispose();
+        return new Tile(image, functions);
+    }
+
+    @Override
+    // MODIFIES: canvas
+    // EFFECTS: shows the preview tiles, unless this render was cancelled or has already finished
+    protected void process(List<Map<TileKey, Tile>> chunks) {
+        if (!isCancelled() && !isDone()) {
+            Map<TileKey, Tile> previews = new HashMap<>();
+            chunks.forEach(previews::putAll);
+            canvas.showPreviews(previews, target);
+        }
+    }
+
+    @Override
+    // MODIFIES: canvas
+    // EFFECTS: tells canvas that the tiles of the rendered viewport for version are ready, unless this render
+    //          was cancelled; if the render failed, says why (the canvas keeps showing the tiles it has, and the
+    //          next refresh renders again)
+    protected void done() {
+        if (isCancelled()) {
+            return;
+        }
+        try {
+            get();
+            canvas.finishRender(version, target);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.out.println("The functions could not be drawn: " + e.getCause());
+        }
+    }
+}
@@ -4,15 +4,16 @@ import model.Function;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-// Panel of an individual entry in the list of functions (FunctionListPanel)
+// Draws the individual entries in the list of functions (FunctionListPanel): the list uses one FunctionLabel as
+// its cell renderer, which is given the text of each visible row in turn (see describe(...))
 // ***needs to extend JTextArea so that text can wrap to the next line
 // ***CITATION: I learned the basics of various Swing components from the YouTube channel "Bro Code"
 // https://www.youtube.com/channel/UC4SVo0Ue36XCfOyb5Lh1viQ, as well as from Oracle Java Swing tutorials
 // https://docs.oracle.com/javase/tutorial/uiswing/index.html
-public class FunctionLabel extends JTextArea {
+public class FunctionLabel extends JTextArea implements ListCellRenderer<String> {
     public static final int WIDTH = 500;
     public static final int HEIGHT = 100;
     private static final String FUNC_EXPRESSION_LINEAR = "a*x + b";
@@ -21,16 +22,8 @@ public class FunctionLabel extends JTextArea {
     private static final String FUNC_EXPRESSION_TRIG = "a*sin(b*x) + c*cos(d*x) + e*tan(f*x) + g";
     private static final String FUNC_EXPRESSION_LOG = "a*ln(b*x) + c";
 
-    private String name;
-    private String type;
-    private List<Double> domain;
-    private HashMap<String, Double> constants;
-
-    // REQUIRES: name must not be an empty string, same REQUIRES as Function constructor
-    // EFFECTS: creates a FunctionLabel to display information of an individual function in the GUI
-    public FunctionLabel(String name, String type, List<Double> domain,
-                         HashMap<String, Double> constants) {
-        setFields(name, type, domain, constants);
+    // EFFECTS: creates a FunctionLabel to display information of the functions in the GUI
+    public FunctionLabel() {
         setPreferredSize(new Dimension(WIDTH, HEIGHT));
         setEditable(false);
         //setBackground(new Color(167, 142, 199));
@@ -38,35 +31,37 @@ public class FunctionLabel extends JTextArea {
         setOpaque(true);
     }
 
-    // REQUIRES: name must not be an empty string, same REQUIRES as Function constructor
+    @Override
     // MODIFIES: this
-    // EFFECTS: sets the text of this
-    private void setFields(String name, String type, List<Double> domain,
-                          HashMap<String, Double> constants) {
-        this.name = name;
-        this.type = type;
-        this.domain = domain;
-        this.constants = constants;
+    // EFFECTS: returns this, set up to draw a row of list showing text (highlighted if the row is selected)
+    public Component getListCellRendererComponent(JList<? extends String> list, String text, int index,
+                                                  boolean isSelected, boolean cellHasFocus) {
+        setText(text);
+        setBackground(isSelected ? list.getSelectionBackground() : list.getBackground());
+        setForeground(isSelected ? list.getSelectionForeground() : list.getForeground());
+        return this;
+    }
 
+    // REQUIRES: name must not be an empty string, same REQUIRES as Function constructor
+    // EFFECTS: returns the text shown for an individual function
+    public static String describe(String name, String type, List<Double> domain,
+                                  Map<String, Double> constants) {
         String constantsString = "";
         for (String constKey : constants.keySet()) {
             constantsString += constants.get(constKey) + ", ";
         }
         constantsString = constantsString.substring(0, constantsString.length() - 2); //remove trailing ", "
 
-        String thing = "Name: " + name
+        return "Name: " + name
                 + "\nType: " + type
                 + "\nExpression: " + convertTypeToFunctionExpression(type)
                 + "\nDomain: [" + domain.get(0) + ", " + domain.get(1) + "]"
                 + "\nConstants: [" + constantsString + "]";
-
-        System.out.println(thing);
-        setText(thing);
     }
 
     // REQUIRES: type is a valid Function type string
     // EFFECTS: converts Function type string into a human-readable expression of the math function
-    private String convertTypeToFunctionExpression(String type) {
+    private static String convertTypeToFunctionExpression(String type) {
         switch (type) {
             case Function.TYPE_LINEAR:
                 return FUNC_EXPRESSION_LINEAR;
@@ -82,9 +77,4 @@ public class FunctionLabel extends JTextArea {
                 return null; //compiler complains of missing return statement if this is excluded
         }
     }
-
-    // EFFECTS: returns the name of the function label
-    public String getFunctionName() {
-        return name;
-    }
 }
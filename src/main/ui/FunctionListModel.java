@@ -0,0 +1,122 @@
+package ui;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// List model behind the FunctionListPanel: one row per function, in the order they were added, holding the text
+// shown for it (see FunctionLabel.describe(...)), which is built once when the row is added rather than on every
+// paint. A name -> row index finds a function's row without scanning. Changes come in batches (see update(...)):
+// the removed rows are dropped in one pass over the rows, and the list is told which rows were removed, added
+// and changed, with a few interval events per batch rather than one per function
+class FunctionListModel extends AbstractListModel<String> {
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> names; // names.get(row) is the function shown in row
+    private final List<String> texts; // texts.get(row) is the text shown in row
+    private final HashMap<String, Integer> rows; // name -> row of the function
+
+    // EFFECTS: creates an empty model
+    FunctionListModel() {
+        names = new ArrayList<>();
+        texts = new ArrayList<>();
+        rows = new HashMap<>();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the rows of the functions called one of removed (ignoring names that are not listed), then
+    //          shows each text of added in the row of the function called by its key (adding a row at the end if
+    //          there is none), and tells the list which rows were removed, added and changed
+    void update(Set<String> removed, Map<String, String> added) {
+        removeAll(removed);
+        int oldSize = names.size();
+        int firstChanged = oldSize;
+        int lastChanged = -1;
+        for (Map.Entry<String, String> entry : added.entrySet()) {
+            int row = put(entry.getKey(), entry.getValue());
+            if (row < oldSize) {
+                firstChanged = Math.min(firstChanged, row);
+                lastChanged = Math.max(lastChanged, row);
+            }
+        }
+        if (names.size() > oldSize) {
+            fireIntervalAdded(this, oldSize, names.size() - 1);
+        }
+        if (firstChanged <= lastChanged) {
+            fireContentsChanged(this, firstChanged, lastChanged);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shows text in the row of the function called name, adding a row at the end if there is none;
+    //          returns that row
+    private int put(String name, String text) {
+        Integer row = rows.get(name);
+        if (row != null) {
+            texts.set(row, text);
+            return row;
+        }
+        rows.put(name, names.size());
+        names.add(name);
+        texts.add(text);
+        return names.size() - 1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the rows of the functions called one of removed, moving the rows below them up in a single
+    //          pass (re-indexing only the rows from the first removed one on), and tells the list: its size
+    //          shrank by the number of rows removed, and every row from the first removed one on changed
+    private void removeAll(Set<String> removed) {
+        int first = firstRowOf(removed);
+        if (first == names.size()) {
+            return;
+        }
+        int oldSize = names.size();
+        int kept = first;
+        for (int row = first; row < oldSize; row++) {
+            String name = names.get(row);
+            if (removed.contains(name)) {
+                rows.remove(name);
+            } else {
+                names.set(kept, name);
+                texts.set(kept, texts.get(row));
+                rows.put(name, kept);
+                kept++;
+            }
+        }
+        names.subList(kept, oldSize).clear();
+        texts.subList(kept, oldSize).clear();
+        fireIntervalRemoved(this, first, first + (oldSize - kept) - 1);
+        if (first < kept) {
+            fireContentsChanged(this, first, kept - 1);
+        }
+    }
+
+    // EFFECTS: returns the first row showing a function called one of removed, or getSize() if there is none
+    private int firstRowOf(Set<String> removed) {
+        int first = getSize();
+        for (String name : removed) {
+            Integer row = rows.get(name);
+            if (row != null) {
+                first = Math.min(first, row);
+            }
+        }
+        return first;
+    }
+
+    @Override
+    // EFFECTS: returns the number of rows
+    public int getSize() {
+        return names.size();
+    }
+
+    @Override
+    // REQUIRES: 0 <= row < getSize()
+    // EFFECTS: returns the text shown in row
+    public String getElementAt(int row) {
+        return texts.get(row);
+    }
+}
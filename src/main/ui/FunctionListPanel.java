@@ -1,15 +1,18 @@
 package ui;
 
 import model.Function;
+import model.WorkspaceChange;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 // Scroll-able panel that contains a list of all the information related to each
 // function in the workspace and displays them
+// ***the list is a JList over a FunctionListModel, drawn by a single FunctionLabel used as a cell renderer, so
+// only the visible rows are painted and there is no component (or layout) per function; every row has the same
+// fixed size, so the list never measures its rows either
 // ***CITATION: I learned the basics of various Swing components from the YouTube channel "Bro Code"
 // https://www.youtube.com/channel/UC4SVo0Ue36XCfOyb5Lh1viQ, as well as from Oracle Java Swing tutorials
 // https://docs.oracle.com/javase/tutorial/uiswing/index.html
@@ -18,112 +21,42 @@ public class FunctionListPanel extends JScrollPane {
     public static final int HEIGHT = 350;
     public static final int SCROLL_BAR_SENSITIVITY = 6; // in pixels
 
-    private JPanel internalPanel; //internal panel of JScrollPane
-    private List<FunctionLabel> funcLabels;
+    private FunctionListModel model;
+    private JList<String> list;
 
-    // EFFECTS: sets up this (which is a JScrollPane) and sub-labels, which each contain
-    //          the information for each function (see FunctionLabel.java)
+    // EFFECTS: sets up this (which is a JScrollPane) and the list inside it, whose rows each show
+    //          the information for one function (see FunctionLabel.java)
     public FunctionListPanel() {
-        setupInternalPanel();
+        setupList();
         getVerticalScrollBar().setUnitIncrement(SCROLL_BAR_SENSITIVITY);
         setPreferredSize(new Dimension(WIDTH, HEIGHT));
         setOpaque(true);
-        funcLabels = new ArrayList<>();
-
-        //TEST
-        //testLabels();
-        //TEST
     }
 
     // MODIFIES: this
-    // EFFECTS: sets up the internal panel contained by FunctionListPanel (which is a JScrollPane)
-    private void setupInternalPanel() {
-        internalPanel = new JPanel();
-        internalPanel.setLayout(new FlowLayout());
-        internalPanel.setLayout(new BoxLayout(internalPanel, BoxLayout.PAGE_AXIS));
+    // EFFECTS: sets up the list contained by FunctionListPanel (which is a JScrollPane)
+    private void setupList() {
+        model = new FunctionListModel();
+        list = new JList<>(model);
+        list.setCellRenderer(new FunctionLabel());
+        list.setFixedCellWidth(FunctionLabel.WIDTH);
+        list.setFixedCellHeight(FunctionLabel.HEIGHT);
         setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
         setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
-        setViewportView(internalPanel);
+        setViewportView(list);
     }
 
-    // REQUIRES: name must not be an empty string, same REQUIRES as Function constructor
     // MODIFIES: this
-    // EFFECTS: creates new FunctionLabel with a name, function type, domain, and constants
-    public void addNewFuncLabel(String name, String type, List<Double> domain,
-                                HashMap<String, Double> constants) {
-        FunctionLabel funcLabel = new FunctionLabel(name, type, domain, constants);
-        funcLabels.add(funcLabel);
-        internalPanel.add(funcLabel);
-        internalPanel.revalidate();
-    }
-
-    // REQUIRES: name must not be an empty string
-    // MODIFIES: this
-    // EFFECTS: creates new FunctionLabel with a name and function object directly
-    public void addNewFuncLabel(String name, Function function) {
-        FunctionLabel funcLabel = new FunctionLabel(name, function.getFunctionType(),
-                function.getDomain(), function.getConstants());
-        funcLabels.add(funcLabel);
-        internalPanel.add(funcLabel);
-        internalPanel.revalidate();
-    }
-
-    // REQUIRES: "name" Function object exists in funcLabels
-    // MODIFIES: this
-    // EFFECTS: removes the function label from this
-    public void removeFuncLabel(String name) {
-        FunctionLabel labelToRemove = null;
-        for (FunctionLabel label : funcLabels) {
-            if (label.getFunctionName().equals(name)) {
-                labelToRemove = label;
-            }
+    // EFFECTS: shows a batch of changes to the workspace: removes the rows of the removed functions and adds (or
+    //          replaces) a row for each added function, telling the list about the whole batch at once
+    public void applyChange(WorkspaceChange change) {
+        Map<String, String> added = new LinkedHashMap<>();
+        for (Map.Entry<String, Function> entry : change.getAdded().entrySet()) {
+            Function function = entry.getValue();
+            added.put(entry.getKey(), FunctionLabel.describe(entry.getKey(), function.getFunctionType(),
+                    function.getDomain(), function.getConstants()));
         }
-
-        // have to perform the deletion outside of the loop,
-        // otherwise it causes a ConcurrentModificationException
-        funcLabels.remove(labelToRemove);
-        internalPanel.remove(labelToRemove);
-        internalPanel.revalidate();
+        list.clearSelection();
+        model.update(change.getRemoved(), added);
     }
-
-//    //TEST
-//    private void testLabels() {
-//        JTextArea label1 = new JTextArea("text 1 \nsdfsafsadfsadfa");
-//        label1.setPreferredSize(new Dimension(200, 100));
-//        label1.setEditable(false);
-//        //label1.setBorder(BorderFactory.createLineBorder(Color.black, 1));
-//        label1.setBackground(new Color(146, 161, 208));
-//        label1.setOpaque(true);
-//        JTextArea label2 = new JTextArea("text 2  \nsdfasfsadfadsfasdf");
-//        label2.setPreferredSize(new Dimension(200, 100));
-//        label2.setEditable(false);
-//        //label2.setBorder(BorderFactory.createLineBorder(Color.black, 1));
-//        label2.setBackground(new Color(186, 201, 248));
-//        label2.setOpaque(true);
-//        JTextArea label3 = new JTextArea("text 3                    \nsadfsadfadsdfsadfas");
-//        label3.setPreferredSize(new Dimension(200, 100));
-//        label3.setEditable(false);
-//        //label3.setBorder(BorderFactory.createLineBorder(Color.black, 1));
-//        label3.setBackground(new Color(146, 161, 208));
-//        label3.setOpaque(true);
-//        JTextArea label4 = new JTextArea("text 4       asdfasdfasd             \nsadfsadfadsdfsadfas");
-//        label4.setPreferredSize(new Dimension(200, 100));
-//        label4.setEditable(false);
-//        //label4.setBorder(BorderFactory.createLineBorder(Color.black, 1));
-//        label4.setBackground(new Color(186, 201, 248));
-//        label4.setOpaque(true);
-//        JTextArea label5 = new JTextArea("text 5       asdfasdfasd    sdfafdsafadsfsad         "
-//                + "\nsadfsadfadsdfsadfas");
-//        label5.setPreferredSize(new Dimension(200, 100));
-//        label5.setEditable(false);
-//        //label5.setBorder(BorderFactory.createLineBorder(Color.black, 1));
-//        label5.setBackground(new Color(146, 161, 208));
-//        label5.setOpaque(true);
-//
-//        internalPanel.add(label1);
-//        internalPanel.add(label2);
-//        internalPanel.add(label3);
-//        internalPanel.add(label4);
-//        internalPanel.add(label5);
-//    }
 }
@@ -8,6 +8,7 @@ import persistence.JsonWriter;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Scanner;
 
@@ -248,8 +249,8 @@ public class FunctionPlotterConsoleApp {
                 System.out.println("Type: " + type + " (f(x) = " + convertTypeToFunctionExpression(type) + ")");
                 System.out.println("Constants: " + func.getConstants());
                 System.out.println("Domain: " + func.getDomain());
-                System.out.println("x-values: " + func.getValuesX());
-                System.out.println("y-values: " + func.getValuesY() + "\n");
+                System.out.println("x-values: " + Arrays.toString(func.getSamples().getValuesX()));
+                System.out.println("y-values: " + Arrays.toString(func.getSamples().getValuesY()) + "\n");
             }
         }
     }
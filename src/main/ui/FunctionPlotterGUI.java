@@ -2,6 +2,7 @@ package ui;
 
 import model.Function;
 import model.Workspace;
+import model.WorkspaceChange;
 import ui.subwindow.WorkspaceFileHandler;
 
 import javax.swing.*;
@@ -31,6 +32,7 @@ public class FunctionPlotterGUI extends JFrame {
         workspace = new Workspace();
         fileHandler = new WorkspaceFileHandler(this);
         initializePanels();
+        workspace.addListener(this::workspaceChanged);
         pack();
         setLocationRelativeTo(null);
         setVisible(true);
@@ -58,20 +60,28 @@ public class FunctionPlotterGUI extends JFrame {
 
     // REQUIRES: name must not be an empty string, same REQUIRES as Function constructor
     // MODIFIES: this
-    // EFFECTS: adds a Function to the workspace and the funcListPanel
+    // EFFECTS: adds a Function to the workspace (which shows it in the funcListPanel and on the canvas)
     public void addFunction(String name, String type, HashMap<String, Double> constants, List<Double> domain) {
         workspace.addFunction(new Function(type, constants, domain), name);
-        funcListPanel.addNewFuncLabel(name, type, domain, constants);
-        canvasPanel.repaint();
     }
 
-    // REQUIRES: "name" Function object exists in FunctionListPanel.funcLabels
+    // REQUIRES: "name" Function object exists in the workspace
     // MODIFIES: this
-    // EFFECTS: removes function from workspace and funcListPanel
+    // EFFECTS: removes function from workspace (which removes it from the funcListPanel and the canvas)
     public void removeFunction(String name) {
         workspace.removeFunction(name);
-        funcListPanel.removeFuncLabel(name);
-        canvasPanel.repaint();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shows a batch of changes to the workspace in the funcListPanel and on the canvas, with one update
+    //          of each per batch (on the event dispatch thread, whichever thread changed the workspace)
+    private void workspaceChanged(WorkspaceChange change) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> workspaceChanged(change));
+            return;
+        }
+        funcListPanel.applyChange(change);
+        canvasPanel.refresh();
     }
 
     // MODIFIES: this
@@ -81,18 +91,10 @@ public class FunctionPlotterGUI extends JFrame {
     }
 
     // MODIFIES: this
-    // EFFECTS: loads a workspace from file
+    // EFFECTS: loads a workspace from file into the workspace in the background; its functions are shown in
+    //          batches as they are read (see workspaceChanged())
     public void loadWorkspace() {
-        int option = fileHandler.loadFile(workspace);
-        HashMap<String, Function> functions = workspace.getFunctionList();
-
-        if (option == JFileChooser.APPROVE_OPTION) {
-            for (String funcName : functions.keySet()) {
-                Function func = functions.get(funcName);
-                funcListPanel.addNewFuncLabel(funcName, func);
-            }
-            canvasPanel.repaint();
-        }
+        fileHandler.loadFile(workspace);
     }
 
     // EFFECTS: returns list of function names in workspace
@@ -0,0 +1,152 @@
+package ui;
+
+import model.ColumnDecimator;
+import model.Function;
+import model.SampleBuffer;
+import model.SegmentClipper;
+
+import java.awt.*;
+import java.util.Arrays;
+
+// The part of a function's plot that crosses one tile of the plane, in the tile's pixel coordinates, ready for
+// Graphics.drawPolyline(): one or more runs of connected points, split where the function is undefined or
+// jumps across an asymptote, and where the plot leaves the tile
+final class Polyline {
+    private static final int MARGIN = 2; // pixels around the tile that segments are kept in, so lines join up
+
+    private final int[][] runsX; // x-coordinates of the points of each run
+    private final int[][] runsY; // y-coordinates of the points of each run
+    private final long submitted; // number of segments submitted to clipping
+    private final long drawn; // number of segments left after clipping
+
+    // REQUIRES: runsX[i] and runsY[i] have the same length, for each run i
+    // EFFECTS: creates a polyline made of the runs through the points (runsX[i][j], runsY[i][j])
+    private Polyline(int[][] runsX, int[][] runsY, long submitted, long drawn) {
+        this.runsX = runsX;
+        this.runsY = runsY;
+        this.submitted = submitted;
+        this.drawn = drawn;
+    }
+
+    // REQUIRES: sampleCount >= 2
+    // EFFECTS: returns the part of function's plot that crosses the tile of key; the tile's x-range, widened by
+    //          a margin on each side so that lines join up across tile edges, is sampled with sampleCount points,
+    //          split into runs of finite, continuous samples (see SampleBuffer.getRuns()), and each run is
+    //          decimated to at most 4 samples per pixel column (see ColumnDecimator), so with more samples than
+    //          columns, spikes narrower than a pixel still show while the polyline has O(TILE_SIZE) points;
+    //          the segments are then clipped to the tile and its margin (see SegmentClipper)
+    static Polyline build(Function function, TileKey key, int sampleCount) {
+        double unitsPerPixel = key.getUnitsPerPixelX();
+        double left = key.getLeft() - MARGIN * unitsPerPixel;
+        double right = key.getRight() + MARGIN * unitsPerPixel;
+        ColumnDecimator decimator = new ColumnDecimator(left, right, TileKey.TILE_SIZE + 2 * MARGIN);
+        SampleBuffer samples = function.getSamplesForView(left, right, sampleCount);
+        SegmentClipper clipper = new SegmentClipper(-MARGIN, -MARGIN, TileKey.TILE_SIZE + MARGIN,
+                TileKey.TILE_SIZE + MARGIN);
+        Builder builder = new Builder(2 * samples.size());
+
+        int[] runs = samples.getRuns();
+        for (int run = 0; run < runs.length; run += 2) {
+            SampleBuffer decimated = decimator.decimate(samples, runs[run], runs[run + 1]);
+            clipRun(decimated, key, clipper, builder);
+            builder.breakRun();
+        }
+        return builder.build(clipper);
+    }
+
+    // MODIFIES: clipper, builder
+    // EFFECTS: adds the run of samples to builder in the tile's pixel coordinates, clipped to the tile and its
+    //          margin, and broken into a new run wherever a segment had to be trimmed or dropped
+    private static void clipRun(SampleBuffer samples, TileKey key, SegmentClipper clipper, Builder builder) {
+        double unitsPerPixelX = key.getUnitsPerPixelX();
+        double unitsPerPixelY = key.getUnitsPerPixelY();
+        double[] segment = new double[4];
+        double previousX = (samples.getX(0) - key.getLeft()) / unitsPerPixelX;
+        double previousY = -samples.getY(0) / unitsPerPixelY - key.getPixelY();
+        for (int i = 1; i < samples.size(); i++) {
+            double panelX = (samples.getX(i) - key.getLeft()) / unitsPerPixelX;
+            double panelY = -samples.getY(i) / unitsPerPixelY - key.getPixelY();
+            if (clipper.clip(previousX, previousY, panelX, panelY, segment)) {
+                builder.add(segment, segment[0] == previousX && segment[1] == previousY,
+                        segment[2] == panelX && segment[3] == panelY);
+            } else {
+                builder.breakRun();
+            }
+            previousX = panelX;
+            previousY = panelY;
+        }
+    }
+
+    // MODIFIES: g
+    // EFFECTS: draws this polyline with g
+    void draw(Graphics2D g) {
+        for (int run = 0; run < runsX.length; run++) {
+            g.drawPolyline(runsX[run], runsY[run], runsX[run].length);
+        }
+    }
+
+    // EFFECTS: returns the number of segments submitted to clipping
+    long getSubmitted() {
+        return submitted;
+    }
+
+    // EFFECTS: returns the number of segments left after clipping
+    long getDrawn() {
+        return drawn;
+    }
+
+    // Collects the points and runs of a Polyline
+    private static final class Builder {
+        private final int[] pointsX;
+        private final int[] pointsY;
+        private final int[] runStarts;
+        private int size;
+        private int runs;
+        private boolean ended; // true if the last segment added ends at an untrimmed point
+
+        // EFFECTS: creates a builder for a polyline with at most maxPoints points
+        Builder(int maxPoints) {
+            pointsX = new int[maxPoints];
+            pointsY = new int[maxPoints];
+            runStarts = new int[maxPoints];
+        }
+
+        // MODIFIES: this
+        // EFFECTS: adds the clipped segment {x1, y1, x2, y2}; startsAtPoint (endsAtPoint) is true if its start
+        //          (end) was not trimmed; it extends the current run if it starts where the last segment ended
+        void add(double[] segment, boolean startsAtPoint, boolean endsAtPoint) {
+            if (!(startsAtPoint && ended)) {
+                runStarts[runs++] = size;
+                addPoint(segment[0], segment[1]);
+            }
+            addPoint(segment[2], segment[3]);
+            ended = endsAtPoint;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: makes the next segment start a new run (because a segment in between was dropped)
+        void breakRun() {
+            ended = false;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: adds the point (x, y), rounded down to the pixel it lies in
+        private void addPoint(double x, double y) {
+            pointsX[size] = (int) Math.floor(x);
+            pointsY[size] = (int) Math.floor(y);
+            size++;
+        }
+
+        // EFFECTS: returns the polyline built so far, with the segment counts of clipper
+        Polyline build(SegmentClipper clipper) {
+            int[][] runsX = new int[runs][];
+            int[][] runsY = new int[runs][];
+            for (int run = 0; run < runs; run++) {
+                int end = (run + 1 < runs) ? runStarts[run + 1] : size;
+                runsX[run] = Arrays.copyOfRange(pointsX, runStarts[run], end);
+                runsY[run] = Arrays.copyOfRange(pointsY, runStarts[run], end);
+            }
+            return new Polyline(runsX, runsY, clipper.getSubmitted(), clipper.getDrawn());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package ui;
+
+import model.Function;
+
+import java.awt.image.BufferedImage;
+import java.util.Set;
+
+// A rendered tile of the plane: its image, and the set of functions drawn on it
+final class Tile {
+    private final BufferedImage image;
+    private final Set<Function> functions;
+
+    // REQUIRES: image is not drawn on after this is created
+    // EFFECTS: creates a tile with image, on which exactly the functions in functions were drawn
+    Tile(BufferedImage image, Set<Function> functions) {
+        this.image = image;
+        this.functions = functions;
+    }
+
+    // EFFECTS: returns the rendered image (which must not be drawn on)
+    BufferedImage getImage() {
+        return image;
+    }
+
+    // EFFECTS: returns the functions drawn on this tile
+    Set<Function> getFunctions() {
+        return functions;
+    }
+}
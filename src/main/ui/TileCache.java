@@ -0,0 +1,36 @@
+package ui;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Least-recently-used cache of rendered tiles, holding at most a fixed number of them
+// ***the default capacity can be set with -Dplotter.tileCacheSize=<tiles>; each tile takes
+// TILE_SIZE * TILE_SIZE * 4 bytes (64 KiB)
+final class TileCache {
+    public static final int DEFAULT_CAPACITY = Integer.getInteger("plotter.tileCacheSize", 512);
+
+    private final LinkedHashMap<TileKey, Tile> tiles; // in least- to most-recently-used order
+
+    // REQUIRES: capacity >= 1
+    // EFFECTS: creates an empty cache holding at most capacity tiles
+    TileCache(int capacity) {
+        tiles = new LinkedHashMap<TileKey, Tile>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TileKey, Tile> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the tile for key (marking it most recently used), or null if it is not cached
+    synchronized Tile get(TileKey key) {
+        return tiles.get(key);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: caches tile under key, evicting the least recently used tile if the cache is full
+    synchronized void put(TileKey key, Tile tile) {
+        tiles.put(key, tile);
+    }
+}
@@ -0,0 +1,81 @@
+package ui;
+
+import java.util.Objects;
+
+// Identifies one tile of the plane: the TILE_SIZE x TILE_SIZE pixels at column tileX and row tileY of the tile
+// grid at a pair of zoom levels (one per axis, see Viewport), as rendered from a given version of the workspace
+// (see Workspace.getVersion())
+final class TileKey {
+    public static final int TILE_SIZE = 128; // width and height of a tile in pixels
+
+    private final int zoomX;
+    private final int zoomY;
+    private final long tileX;
+    private final long tileY;
+    private final long version;
+
+    // EFFECTS: creates the key of the tile at (tileX, tileY) of zoom levels zoomX and zoomY, for workspace
+    //          version version
+    TileKey(int zoomX, int zoomY, long tileX, long tileY, long version) {
+        this.zoomX = zoomX;
+        this.zoomY = zoomY;
+        this.tileX = tileX;
+        this.tileY = tileY;
+        this.version = version;
+    }
+
+    // EFFECTS: returns the key of the same tile for workspace version otherVersion
+    TileKey withVersion(long otherVersion) {
+        return new TileKey(zoomX, zoomY, tileX, tileY, otherVersion);
+    }
+
+    // EFFECTS: returns the x-coordinate of the plane at the tile's left edge
+    double getLeft() {
+        return tileX * TILE_SIZE * Viewport.unitsPerPixel(zoomX);
+    }
+
+    // EFFECTS: returns the x-coordinate of the plane at the tile's right edge
+    double getRight() {
+        return (tileX + 1) * TILE_SIZE * Viewport.unitsPerPixel(zoomX);
+    }
+
+    // EFFECTS: returns the number of units of the plane covered by one pixel of the tile along x
+    double getUnitsPerPixelX() {
+        return Viewport.unitsPerPixel(zoomX);
+    }
+
+    // EFFECTS: returns the number of units of the plane covered by one pixel of the tile along y
+    double getUnitsPerPixelY() {
+        return Viewport.unitsPerPixel(zoomY);
+    }
+
+    // EFFECTS: returns the pixel column of the plane at the tile's left edge
+    long getPixelX() {
+        return tileX * TILE_SIZE;
+    }
+
+    // EFFECTS: returns the pixel row of the plane at the tile's top edge
+    long getPixelY() {
+        return tileY * TILE_SIZE;
+    }
+
+    @Override
+    // EFFECTS: returns true if o is the key of the same tile and version
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (o == null || getClass() != o.getClass()) {
+            return false;
+        } else {
+            TileKey key = (TileKey) o;
+            return zoomX == key.zoomX && zoomY == key.zoomY && tileX == key.tileX && tileY == key.tileY
+                    && version == key.version;
+        }
+    }
+
+    @Override
+    // EFFECTS: generates a hash code for this
+    public int hashCode() {
+        return Objects.hash(zoomX, zoomY, tileX, tileY, version);
+    }
+}
@@ -0,0 +1,177 @@
+package ui;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Represents the part of the plane shown on the CanvasPanel: a zoom level for each axis, which sets how many units
+// of the plane a pixel covers along it, and the position of the panel's top-left corner in whole pixels of those
+// zoom levels (so panning moves by whole pixels, and tiles of the plane always line up with the panel's pixels)
+// ***x grows to the right and y grows upwards, as on paper; panel rows grow downwards
+final class Viewport {
+    public static final double BASE_UNITS_PER_PIXEL = 10.0 / CanvasPanel.WIDTH; // zoom 0 shows x in [-5, 5]
+    public static final int MIN_ZOOM = -20;
+    public static final int MAX_ZOOM = 40;
+    public static final int FIT_MARGIN = 20; // pixels left free on each side of the panel by fit(...)
+
+    private final int zoomX;
+    private final int zoomY;
+    private final long originX; // pixel column of the plane at the panel's left edge
+    private final long originY; // pixel row of the plane at the panel's top edge
+    private final int width;
+    private final int height;
+
+    // REQUIRES: MIN_ZOOM <= zoomX, zoomY <= MAX_ZOOM, width > 0, height > 0
+    // EFFECTS: creates a viewport width x height pixels in size, whose top-left pixel is (originX, originY)
+    //          at zoom level zoomX along x and zoomY along y
+    Viewport(int zoomX, int zoomY, long originX, long originY, int width, int height) {
+        this.zoomX = zoomX;
+        this.zoomY = zoomY;
+        this.originX = originX;
+        this.originY = originY;
+        this.width = width;
+        this.height = height;
+    }
+
+    // REQUIRES: width > 0, height > 0
+    // EFFECTS: returns a zoom level 0 viewport of the given size with the origin of the plane at its centre
+    static Viewport centered(int width, int height) {
+        return new Viewport(0, 0, -width / 2, -height / 2, width, height);
+    }
+
+    // REQUIRES: minX <= maxX, minY <= maxY (all finite), width > 2 * FIT_MARGIN, height > 2 * FIT_MARGIN
+    // EFFECTS: returns a viewport of the given size centred on the box [minX, maxX] x [minY, maxY], at the largest
+    //          zoom level of each axis at which the box fits inside the panel less FIT_MARGIN on each side
+    //          (an axis along which the box has no extent keeps zoom level 0)
+    static Viewport fit(double minX, double maxX, double minY, double maxY, int width, int height) {
+        int zoomX = fitZoom(maxX - minX, width - 2 * FIT_MARGIN);
+        int zoomY = fitZoom(maxY - minY, height - 2 * FIT_MARGIN);
+        long originX = Math.round((minX + maxX) / 2 / unitsPerPixel(zoomX)) - width / 2;
+        long originY = Math.round(-(minY + maxY) / 2 / unitsPerPixel(zoomY)) - height / 2;
+        return new Viewport(zoomX, zoomY, originX, originY, width, height);
+    }
+
+    // REQUIRES: extent >= 0, pixels > 0
+    // EFFECTS: returns the largest zoom level in [MIN_ZOOM, MAX_ZOOM] at which extent units span at most pixels
+    //          pixels (MIN_ZOOM if there is none), or 0 if extent is 0
+    static int fitZoom(double extent, int pixels) {
+        if (extent == 0) {
+            return 0;
+        }
+        int zoom = (int) Math.floor(Math.log(pixels * BASE_UNITS_PER_PIXEL / extent) / Math.log(2));
+        while (zoom > MIN_ZOOM && extent > pixels * unitsPerPixel(zoom)) {
+            zoom--; // in case the logarithm rounded up
+        }
+        return Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom));
+    }
+
+    // EFFECTS: returns the number of units of the plane covered by one pixel at zoom level zoom
+    static double unitsPerPixel(int zoom) {
+        return Math.scalb(BASE_UNITS_PER_PIXEL, -zoom);
+    }
+
+    // EFFECTS: returns the number of units of the plane covered by one pixel along x
+    double getUnitsPerPixelX() {
+        return unitsPerPixel(zoomX);
+    }
+
+    // EFFECTS: returns the number of units of the plane covered by one pixel along y
+    double getUnitsPerPixelY() {
+        return unitsPerPixel(zoomY);
+    }
+
+    // EFFECTS: returns the x-coordinate of the plane at the left edge of panel column panelX
+    double toWorldX(double panelX) {
+        return (originX + panelX) * getUnitsPerPixelX();
+    }
+
+    // EFFECTS: returns the y-coordinate of the plane at the top edge of panel row panelY
+    double toWorldY(double panelY) {
+        return -(originY + panelY) * getUnitsPerPixelY();
+    }
+
+    // EFFECTS: returns the panel column (with its fractional part) of the plane's x-coordinate x
+    double toPanelX(double x) {
+        return x / getUnitsPerPixelX() - originX;
+    }
+
+    // EFFECTS: returns the panel row (with its fractional part) of the plane's y-coordinate y
+    double toPanelY(double y) {
+        return -y / getUnitsPerPixelY() - originY;
+    }
+
+    // EFFECTS: returns this viewport with the plane dragged dx pixels right and dy pixels down
+    Viewport pan(int dx, int dy) {
+        return new Viewport(zoomX, zoomY, originX - dx, originY - dy, width, height);
+    }
+
+    // EFFECTS: returns this viewport zoomed in by steps levels along both axes (out, if steps < 0; each level
+    //          doubles the scale) about the panel pixel (panelX, panelY), which keeps showing the same point of
+    //          the plane; the zoom levels stay within [MIN_ZOOM, MAX_ZOOM]
+    Viewport zoom(int steps, int panelX, int panelY) {
+        return zoomY(steps, panelY).zoomX(steps, panelX);
+    }
+
+    // EFFECTS: returns this viewport zoomed in by steps levels along x only, about panel column panelX
+    Viewport zoomX(int steps, int panelX) {
+        int newZoom = clampZoom(zoomX + steps);
+        long newOriginX = Math.round(Math.scalb((double) (originX + panelX), newZoom - zoomX)) - panelX;
+        return new Viewport(newZoom, zoomY, newOriginX, originY, width, height);
+    }
+
+    // EFFECTS: returns this viewport zoomed in by steps levels along y only, about panel row panelY
+    Viewport zoomY(int steps, int panelY) {
+        int newZoom = clampZoom(zoomY + steps);
+        long newOriginY = Math.round(Math.scalb((double) (originY + panelY), newZoom - zoomY)) - panelY;
+        return new Viewport(zoomX, newZoom, originX, newOriginY, width, height);
+    }
+
+    // EFFECTS: returns zoom limited to [MIN_ZOOM, MAX_ZOOM]
+    private static int clampZoom(int zoom) {
+        return Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom));
+    }
+
+    // EFFECTS: returns the keys of the tiles (for workspace version version) that overlap this viewport
+    List<TileKey> getVisibleTiles(long version) {
+        List<TileKey> keys = new ArrayList<>();
+        long firstColumn = Math.floorDiv(originX, TileKey.TILE_SIZE);
+        long lastColumn = Math.floorDiv(originX + width - 1, TileKey.TILE_SIZE);
+        long firstRow = Math.floorDiv(originY, TileKey.TILE_SIZE);
+        long lastRow = Math.floorDiv(originY + height - 1, TileKey.TILE_SIZE);
+        for (long row = firstRow; row <= lastRow; row++) {
+            for (long column = firstColumn; column <= lastColumn; column++) {
+                keys.add(new TileKey(zoomX, zoomY, column, row, version));
+            }
+        }
+        return keys;
+    }
+
+    // EFFECTS: returns the zoom level along x
+    int getZoomX() {
+        return zoomX;
+    }
+
+    // EFFECTS: returns the zoom level along y
+    int getZoomY() {
+        return zoomY;
+    }
+
+    // EFFECTS: returns the pixel column of the plane at the panel's left edge
+    long getOriginX() {
+        return originX;
+    }
+
+    // EFFECTS: returns the pixel row of the plane at the panel's top edge
+    long getOriginY() {
+        return originY;
+    }
+
+    // EFFECTS: returns the width in pixels
+    int getWidth() {
+        return width;
+    }
+
+    // EFFECTS: returns the height in pixels
+    int getHeight() {
+        return height;
+    }
+}
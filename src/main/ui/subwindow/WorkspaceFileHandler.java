@@ -1,23 +1,20 @@
 package ui.subwindow;
 
-import model.Function;
 import model.Workspace;
-import persistence.JsonReader;
-import persistence.JsonWriter;
 import ui.FunctionPlotterGUI;
 
 import javax.swing.*;
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.IOException;
 import java.util.HashMap;
 
 // Opens up a JFileChooser dialog window to load or save the workspace to/from file,
-// and handles the loading/saving
+// and handles the loading/saving, which runs in the background with a progress dialog that can cancel it
 // ***CITATION: I learned the basics of various Swing components from the YouTube channel "Bro Code"
 // https://www.youtube.com/channel/UC4SVo0Ue36XCfOyb5Lh1viQ, as well as from Oracle Java Swing tutorials
 // https://docs.oracle.com/javase/tutorial/uiswing/index.html
 public class WorkspaceFileHandler extends JFileChooser {
+    public static final int CANCEL_POLL_MILLIS = 100; // how often the progress dialog is checked for a cancel click
+
     private FunctionPlotterGUI mainFrame;
 
     // REQUIRES: main is the main GUI JFrame (FunctionPlotterGUI)
@@ -29,51 +26,50 @@ public class WorkspaceFileHandler extends JFileChooser {
 
     // REQUIRES: workspace is the active workspace of the main JFrame
     // MODIFIES: this
-    // EFFECTS: saves the current workspace to a json file
+    // EFFECTS: saves the current workspace to a json file, in the background (see WorkspaceSaver)
     public void saveFile(Workspace workspace) {
-        JsonWriter writer;
         int option = showSaveDialog(mainFrame);
 
         if (option == JFileChooser.APPROVE_OPTION) {
             File file = getSelectedFile();
-            writer = new JsonWriter(file.getAbsolutePath());
-
-            try {
-                writer.open();
-                writer.write(workspace);
-                writer.close();
-                System.out.println("File saved to '" + file.getAbsolutePath() + "'");
-            } catch (FileNotFoundException e) {
-                System.out.println("File could not be opened for writing\n");
-            }
+            start(new WorkspaceSaver(file, new HashMap<>(workspace.getFunctionList())),
+                    "Saving workspace to " + file.getName());
         }
     }
 
     // REQUIRES: workspace is the active workspace of the main JFrame
     // MODIFIES: this, workspace
-    // EFFECTS: loads a workspace from a json file into "workspace"
+    // EFFECTS: loads a workspace from a json file into "workspace", in the background (see WorkspaceLoader);
+    //          its functions are added to workspace as they are read
     public int loadFile(Workspace workspace) {
-        JsonReader reader;
-        Workspace tempWorkspace;
         int option = showOpenDialog(mainFrame);
 
         if (option == JFileChooser.APPROVE_OPTION) {
             File file = getSelectedFile();
-            reader = new JsonReader(file.getAbsolutePath());
-
-            try {
-                tempWorkspace = reader.read();
-                System.out.println("File '" + file.getAbsolutePath() + "' loaded");
-
-                // add functions from tempWorkspace into workspace
-                HashMap<String, Function> functions = tempWorkspace.getFunctionList();
-                for (String funcName : functions.keySet()) {
-                    workspace.addFunction(functions.get(funcName), funcName);
-                }
-            } catch (IOException e) {
-                System.out.println("File could not be opened for reading\nMake sure the file exists");
-            }
+            start(new WorkspaceLoader(file, workspace), "Loading workspace from " + file.getName());
         }
         return option;
     }
+
+    // EFFECTS: runs task in the background, showing its progress in a dialog (if it takes more than a moment)
+    //          whose cancel button cancels the task; the dialog is checked every CANCEL_POLL_MILLIS, so a cancel
+    //          click takes effect even while the task reports no progress
+    private void start(SwingWorker<Boolean, ?> task, String message) {
+        ProgressMonitor monitor = new ProgressMonitor(mainFrame, message, null, 0, 100);
+        Timer cancelPoll = new Timer(CANCEL_POLL_MILLIS, event -> {
+            if (monitor.isCanceled()) {
+                task.cancel(false);
+            }
+        });
+        task.addPropertyChangeListener(event -> {
+            if ("progress".equals(event.getPropertyName())) {
+                monitor.setProgress((Integer) event.getNewValue());
+            } else if (task.isDone()) {
+                cancelPoll.stop();
+                monitor.close();
+            }
+        });
+        cancelPoll.start();
+        task.execute();
+    }
 }
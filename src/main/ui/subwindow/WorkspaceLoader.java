@@ -0,0 +1,73 @@
+package ui.subwindow;
+
+import model.Function;
+import model.Workspace;
+import org.json.JSONException;
+import persistence.JsonReader;
+
+import javax.swing.*;
+import java.io.File;
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+// Loads the functions of a workspace file into the active workspace in the background: the file is parsed and
+// its Functions constructed on a worker thread, and each function is published as soon as it is parsed; the
+// functions published since the last update are added to the workspace on the event dispatch thread as one
+// batch (see Workspace.addFunctions()), so they appear while the rest of the file is still being read
+// ***cancelling stops the parse after the current function; the functions added so far stay in the workspace
+class WorkspaceLoader extends SwingWorker<Boolean, Map.Entry<String, Function>> {
+    private final File file;
+    private final Workspace workspace;
+
+    // REQUIRES: workspace is the active workspace of the main JFrame
+    // EFFECTS: creates a loader of the functions in file into workspace
+    WorkspaceLoader(File file, Workspace workspace) {
+        this.file = file;
+        this.workspace = workspace;
+    }
+
+    @Override
+    // EFFECTS: parses the file, publishing each function and updating the progress (the share of the file read)
+    //          as it goes; returns true if the whole file was read
+    protected Boolean doInBackground() throws Exception {
+        JsonReader reader = new JsonReader(file.getAbsolutePath());
+        return reader.read((name, func) -> publish(new AbstractMap.SimpleEntry<>(name, func)), (done, total) -> {
+            setProgress((total == 0) ? 100 : (int) (100 * done / total));
+            return !isCancelled();
+        });
+    }
+
+    @Override
+    // MODIFIES: workspace
+    // EFFECTS: adds the functions published since the last call to the workspace, as one batch
+    protected void process(List<Map.Entry<String, Function>> chunks) {
+        Map<String, Function> functions = new LinkedHashMap<>();
+        for (Map.Entry<String, Function> entry : chunks) {
+            functions.put(entry.getKey(), entry.getValue());
+        }
+        workspace.addFunctions(functions);
+    }
+
+    @Override
+    // EFFECTS: reports how the load ended
+    protected void done() {
+        try {
+            get();
+            System.out.println("File '" + file.getAbsolutePath() + "' loaded");
+        } catch (CancellationException e) {
+            System.out.println("Loading of '" + file.getAbsolutePath() + "' cancelled");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof JSONException) {
+                System.out.println("File is not a valid workspace: " + e.getCause().getMessage());
+            } else {
+                System.out.println("File could not be opened for reading\nMake sure the file exists");
+            }
+        } catch (InterruptedException e) {
+            // not reached: done() is only called once the load has finished
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ui.subwindow;
+
+import model.Function;
+import persistence.JsonWriter;
+
+import javax.swing.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+// Saves a snapshot of the active workspace's functions to file in the background, updating the progress (the
+// share of functions written) as it goes; the functions are written to a temporary file next to the target,
+// which only replaces it once every function has been written, so a cancelled or failed save leaves any
+// existing file untouched
+class WorkspaceSaver extends SwingWorker<Boolean, Void> {
+    private final File file;
+    private final Map<String, Function> functions;
+
+    // REQUIRES: functions is not modified afterwards (a copy of the workspace's functions, taken on the event
+    //           dispatch thread)
+    // EFFECTS: creates a saver of functions to file
+    WorkspaceSaver(File file, Map<String, Function> functions) {
+        this.file = file;
+        this.functions = functions;
+    }
+
+    @Override
+    // EFFECTS: writes the functions to the temporary file, then moves it over the target; returns true if the
+    //          file was saved (false if the save was cancelled, in which case the temporary file is deleted)
+    protected Boolean doInBackground() throws IOException {
+        File temporary = new File(file.getAbsolutePath() + ".tmp");
+        JsonWriter writer = new JsonWriter(temporary.getAbsolutePath());
+        boolean complete;
+        writer.open();
+        try {
+            complete = writer.write(functions, (done, total) -> {
+                setProgress((int) (100 * done / total));
+                return !isCancelled();
+            });
+        } finally {
+            writer.close();
+        }
+
+        if (!complete || isCancelled()) { // the save may be cancelled after the last function was written
+            Files.deleteIfExists(temporary.toPath());
+            return false;
+        }
+        Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return true;
+    }
+
+    @Override
+    // EFFECTS: reports how the save ended
+    protected void done() {
+        try {
+            get();
+            System.out.println("File saved to '" + file.getAbsolutePath() + "'");
+        } catch (CancellationException e) {
+            System.out.println("Saving to '" + file.getAbsolutePath() + "' cancelled");
+        } catch (ExecutionException e) {
+            System.out.println("File could not be opened for writing\n");
+        } catch (InterruptedException e) {
+            // not reached: done() is only called once the save has finished
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnDecimatorTest {
+    private static final int WIDTH = 200;
+    private static final int HEIGHT = 200;
+    private static final double VIEW_LEFT = -4.0;
+    private static final double VIEW_RIGHT = 4.0;
+
+    private final ColumnDecimator decimator = new ColumnDecimator(VIEW_LEFT, VIEW_RIGHT, WIDTH);
+
+    @Test
+    public void testToColumn() {
+        assertEquals(0, decimator.toColumn(VIEW_LEFT));
+        assertEquals(WIDTH / 2, decimator.toColumn(0.0));
+        assertEquals(WIDTH - 1, decimator.toColumn(VIEW_RIGHT - 0.001));
+        assertEquals(-1, decimator.toColumn(VIEW_LEFT - 0.001));
+    }
+
+    @Test
+    public void testAtMostFourSamplesPerColumn() {
+        SampleBuffer samples = helperSample(x -> Math.sin(7 * x), 50 * WIDTH);
+        SampleBuffer decimated = decimator.decimate(samples);
+
+        assertTrue(decimated.size() <= 4 * (WIDTH + 1));
+        assertEquals(samples.getX(0), decimated.getX(0));
+        assertEquals(samples.getX(samples.size() - 1), decimated.getX(decimated.size() - 1));
+        for (int i = 1; i < decimated.size(); i++) {
+            assertTrue(decimated.getX(i - 1) < decimated.getX(i));
+        }
+    }
+
+    @Test
+    public void testKeepsSpikes() {
+        SampleBuffer samples = helperSample(x -> 3 * Math.tan(2 * x), 50 * WIDTH);
+        SampleBuffer decimated = decimator.decimate(samples);
+
+        double max = Double.NEGATIVE_INFINITY;
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < decimated.size(); i++) {
+            max = Math.max(max, decimated.getY(i));
+            min = Math.min(min, decimated.getY(i));
+        }
+        assertEquals(helperMax(samples), max);
+        assertEquals(-helperMax(helperNegate(samples)), min);
+    }
+
+    @Test
+    public void testSparseSamplesUnchanged() {
+        SampleBuffer samples = helperSample(x -> x * x, WIDTH / 2);
+        SampleBuffer decimated = decimator.decimate(samples);
+
+        assertArrayEquals(samples.getValuesX(), decimated.getValuesX());
+        assertArrayEquals(samples.getValuesY(), decimated.getValuesY());
+    }
+
+    @Test
+    public void testDecimateRange() {
+        SampleBuffer samples = helperSample(x -> Math.sin(7 * x), 50 * WIDTH);
+        SampleBuffer decimated = decimator.decimate(samples, 1000, 2000);
+
+        assertEquals(samples.getX(1000), decimated.getX(0));
+        assertEquals(samples.getX(1999), decimated.getX(decimated.size() - 1));
+        assertTrue(decimated.size() <= 4 * (decimator.toColumn(samples.getX(1999)) + 1
+                - decimator.toColumn(samples.getX(1000))));
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, decimator.decimate(new SampleBuffer(new double[0], new double[0])).size());
+    }
+
+    @Test
+    public void testRasterizationIdenticalTrig() {
+        SampleBuffer samples = helperSample(x -> 3 * Math.tan(2 * x) + Math.sin(40 * x), 37 * WIDTH);
+        helperAssertSameRaster(samples, decimator.decimate(samples));
+    }
+
+    @Test
+    public void testRasterizationIdenticalNoise() {
+        Random random = new Random(210);
+        SampleBuffer samples = helperSample(x -> 4 * random.nextGaussian(), 23 * WIDTH);
+        helperAssertSameRaster(samples, decimator.decimate(samples));
+    }
+
+    @Test
+    public void testRasterizationIdenticalPolynomial() {
+        SampleBuffer samples = helperSample(x -> 0.1 * x * x * x - x, 8 * WIDTH + 3);
+        helperAssertSameRaster(samples, decimator.decimate(samples));
+    }
+
+    // ~~~~~~~~~~~~~~HELPERS~~~~~~~~~~~~~~~~
+
+    private SampleBuffer helperSample(DoubleUnaryOperator f, int count) {
+        double[] valuesX = new double[count];
+        double[] valuesY = new double[count];
+        double step = (VIEW_RIGHT - VIEW_LEFT) / (count - 1);
+        for (int i = 0; i < count; i++) {
+            valuesX[i] = VIEW_LEFT + i * step;
+            valuesY[i] = f.applyAsDouble(valuesX[i]);
+        }
+        return new SampleBuffer(valuesX, valuesY);
+    }
+
+    private void helperAssertSameRaster(SampleBuffer original, SampleBuffer decimated) {
+        assertTrue(decimated.size() < original.size());
+        int[] expected = helperRasterize(original);
+        int[] actual = helperRasterize(decimated);
+        assertArrayEquals(expected, actual);
+    }
+
+    //draws samples as a polyline the same way CanvasPanel does, and returns the pixels
+    private int[] helperRasterize(SampleBuffer samples) {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.WHITE);
+        for (int i = 0; i < samples.size() - 1; i++) {
+            g.drawLine(decimator.toColumn(samples.getX(i)), helperToRow(samples.getY(i)),
+                    decimator.toColumn(samples.getX(i + 1)), helperToRow(samples.getY(i + 1)));
+        }
+        g.dispose();
+        return image.getRGB(0, 0, WIDTH, HEIGHT, null, 0, WIDTH);
+    }
+
+    private int helperToRow(double y) {
+        return (int) (HEIGHT / 2 - y * HEIGHT / 10);
+    }
+
+    private double helperMax(SampleBuffer samples) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (double y : samples.getValuesY()) {
+            max = Math.max(max, y);
+        }
+        return max;
+    }
+
+    private SampleBuffer helperNegate(SampleBuffer samples) {
+        double[] valuesY = samples.getValuesY().clone();
+        for (int i = 0; i < valuesY.length; i++) {
+            valuesY[i] = -valuesY[i];
+        }
+        return new SampleBuffer(samples.getValuesX(), valuesY);
+    }
+}
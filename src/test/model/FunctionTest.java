@@ -192,6 +192,66 @@ class FunctionTest {
         assertEquals(expectedY, func.evalFunction(x), Function.DELTA / ASSERT_EQUALS_TOLERANCE);
     }
 
+    @Test
+    public void testGetSamplesMemoized() {
+        double[] consts = {2.0, 2.0, 3.0};
+        testConst = initConstants(consts);
+        helperConstructorInit(Function.TYPE_EXP, -3.0, 3.0);
+        Function func = new Function(testType, testConst, testDomain);
+
+        assertSame(func.getSamples(), func.getSamples());
+        helperConstructorCheck(func);
+    }
+
+    @Test
+    public void testGetSamplesRange() {
+        double[] consts = {1.5, -0.5};
+        testConst = initConstants(consts);
+        helperConstructorInit(Function.TYPE_LINEAR, -3.0, 3.0);
+        Function func = new Function(testType, testConst, testDomain);
+
+        SampleBuffer samples = func.getSamples(-1.0, 1.0, 5);
+        assertEquals(5, samples.size());
+        for (int i = 0; i < samples.size(); i++) {
+            double x = -1.0 + i * 0.5;
+            assertEquals(x, samples.getX(i), Function.DELTA / ASSERT_EQUALS_TOLERANCE);
+            assertEquals(1.5 * x - 0.5, samples.getY(i), Function.DELTA / ASSERT_EQUALS_TOLERANCE);
+        }
+
+        //same range and resolution is memoized, a different one is resampled
+        assertSame(samples, func.getSamples(-1.0, 1.0, 5));
+        assertEquals(9, func.getSamples(-1.0, 1.0, 9).size());
+    }
+
+    @Test
+    public void testEvalFunctionBatch() {
+        double[] consts = {0.5, 1.5, -0.5, 2.0, 0.5, -2.5, 0.0};
+        testConst = initConstants(consts);
+        helperConstructorInit(Function.TYPE_TRIG, -3.0, 3.0);
+        Function func = new Function(testType, testConst, testDomain);
+
+        double[] xs = {-2.0, -0.7389, 0.0, 0.7389, 2.0};
+        double[] out = new double[xs.length];
+        func.evalFunction(xs, out);
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals(func.evalFunction(xs[i]), out[i], Function.DELTA / ASSERT_EQUALS_TOLERANCE);
+        }
+    }
+
+    @Test
+    public void testEvalFunctionGrid() {
+        double[] consts = {1.0, -2.0, 1.0, 1.0, -1.5, 0.5};
+        testConst = initConstants(consts);
+        helperConstructorInit(Function.TYPE_POLY, -3.0, 3.0);
+        Function func = new Function(testType, testConst, testDomain);
+
+        double[] out = new double[testXVals.size()];
+        func.evalFunction(-3.0, Function.DELTA, out.length, out);
+        for (int i = 0; i < out.length; i++) {
+            assertEquals(testYVals.get(i), out[i], Function.DELTA / ASSERT_EQUALS_TOLERANCE);
+        }
+    }
+
     @Test
     public void testToJson() {
         //initialize Function object
@@ -441,6 +501,116 @@ class FunctionTest {
         assertNotEquals(func2.hashCode(), func1.hashCode());
     }
 
+    @Test
+    public void testFingerprintEqualObjects() {
+        double[] consts = {2.0, -2.5, 0.43};
+        ArrayList<Double> domain1 = new ArrayList<>();
+        domain1.add(0.2);
+        domain1.add(2.2);
+        Function func1 = new Function(Function.TYPE_EXP, initConstants(consts), domain1);
+        ArrayList<Double> domain2 = new ArrayList<>();
+        domain2.add(0.2);
+        domain2.add(2.2);
+        Function func2 = new Function(Function.TYPE_EXP, initConstants(consts), domain2);
+
+        assertEquals(func1.getFingerprint(), func2.getFingerprint());
+    }
+
+    @Test
+    public void testFingerprintNotEqualObjects() {
+        double[] consts = {2.0, -2.5, 0.43};
+        ArrayList<Double> domain = new ArrayList<>();
+        domain.add(0.2);
+        domain.add(2.2);
+        Function func1 = new Function(Function.TYPE_EXP, initConstants(consts), domain);
+        Function func2 = new Function(Function.TYPE_LOG, initConstants(consts), domain);
+        double[] otherConsts = {2.0, -2.5, 0.44};
+        Function func3 = new Function(Function.TYPE_EXP, initConstants(otherConsts), domain);
+
+        assertNotEquals(func1.getFingerprint(), func2.getFingerprint());
+        assertNotEquals(func1.getFingerprint(), func3.getFingerprint());
+    }
+
+    @Test
+    public void testDefinitionIsCopied() {
+        double[] consts = {2.0, -1.0};
+        HashMap<String, Double> constants = initConstants(consts);
+        ArrayList<Double> domain = new ArrayList<>();
+        domain.add(-1.0);
+        domain.add(1.0);
+        Function func = new Function(Function.TYPE_LINEAR, constants, domain);
+        int hashBefore = func.hashCode();
+
+        constants.put("a", 5.0);
+        domain.set(1, 10.0);
+
+        assertEquals(2.0, func.getConstants().get("a"));
+        assertEquals(1.0, func.getDomain().get(1));
+        assertEquals(hashBefore, func.hashCode());
+    }
+
+    @Test
+    public void testGettersAreReadOnly() {
+        double[] consts = {2.0, -1.0};
+        ArrayList<Double> domain = new ArrayList<>();
+        domain.add(-1.0);
+        domain.add(1.0);
+        Function func = new Function(Function.TYPE_LINEAR, initConstants(consts), domain);
+
+        assertThrows(UnsupportedOperationException.class, () -> func.getConstants().put("a", 5.0));
+        assertThrows(UnsupportedOperationException.class, () -> func.getDomain().set(0, 0.0));
+    }
+
+    @Test
+    public void testHashingDoesNotSample() {
+        double[] consts = {2.0, -1.0};
+        ArrayList<Double> domain = new ArrayList<>();
+        domain.add(-1.0e7);
+        domain.add(1.0e7); //2 billion samples: far too many to ever compute in a test
+        Function func1 = new Function(Function.TYPE_LINEAR, initConstants(consts), domain);
+        Function func2 = new Function(Function.TYPE_LINEAR, initConstants(consts), domain);
+
+        HashMap<Function, String> names = new HashMap<>();
+        names.put(func1, "huge");
+
+        assertEquals("huge", names.get(func2));
+        assertEquals(func1.hashCode(), func2.hashCode());
+        assertFalse(func1.getSampleHandle().isResident());
+        assertFalse(func2.getSampleHandle().isResident());
+    }
+
+    @Test
+    public void testGetSamplesForViewPixelResolution() {
+        double[] consts = {2.0, -1.0};
+        ArrayList<Double> domain = new ArrayList<>();
+        domain.add(-1.0e6);
+        domain.add(1.0e6);
+        Function func = new Function(Function.TYPE_LINEAR, initConstants(consts), domain);
+
+        SampleBuffer samples = func.getSamplesForView(-1.0e6, 1.0e6, 500);
+        assertEquals(501, samples.size());
+        assertEquals(-1.0e6, samples.getX(0));
+        assertEquals(1.0e6, samples.getX(500));
+        assertEquals(2.0 * samples.getX(250) - 1.0, samples.getY(250));
+        assertFalse(func.getSampleHandle().isResident()); //the full domain is never sampled
+    }
+
+    @Test
+    public void testGetSamplesForViewClampsToDomain() {
+        double[] consts = {2.0, -1.0};
+        ArrayList<Double> domain = new ArrayList<>();
+        domain.add(0.0);
+        domain.add(4.0);
+        Function func = new Function(Function.TYPE_LINEAR, initConstants(consts), domain);
+
+        SampleBuffer samples = func.getSamplesForView(-4.0, 4.0, 100);
+        assertEquals(51, samples.size());
+        assertEquals(0.0, samples.getX(0));
+        assertEquals(4.0, samples.getX(50));
+
+        assertEquals(0, func.getSamplesForView(5.0, 6.0, 100).size());
+    }
+
     //~~~~~~~~~~~~~~~~HELPERS~~~~~~~~~~~~~~~~~
 
     //constants helper
@@ -485,11 +655,10 @@ class FunctionTest {
         testDomain.add(left);
         testDomain.add(right);
 
-        //initialize x-values to test
-        double i = left;
-        while (i <= right) {
-            testXVals.add(i);
-            i += Function.DELTA;
+        //initialize x-values to test (index-based, as in Function, so that no rounding accumulates)
+        int count = (int) Math.floor((right - left) / Function.DELTA + 1e-9) + 1;
+        for (int i = 0; i < count; i++) {
+            testXVals.add(left + i * Function.DELTA);
         }
     }
 
@@ -543,7 +712,7 @@ class FunctionTest {
 
         //initialize test JSONObject
         JSONObject expectedJson = new JSONObject();
-        JsonTest.helperInitJsonObject(expectedJson, name, testType, testConst, testDomain, testXVals, testYVals);
+        JsonTest.helperInitJsonObject(expectedJson, name, testType, testConst, testDomain);
 
         //check the JSONObject
         JSONObject actualJson = func.toJson(name);
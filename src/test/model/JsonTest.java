@@ -1,26 +1,23 @@
 package model;
 
-import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 //contains toJson testing code common to FunctionTest and WorkspaceTest
 public class JsonTest {
 
     //helper method to initialize a JSONObject representing a Function object
     public static void helperInitJsonObject(JSONObject json, String name, String type,
-                                            HashMap<String, Double> constants, List<Double> domain,
-                                            List<Double> valuesX, List<Double> valuesY) {
+                                            Map<String, Double> constants, List<Double> domain) {
         json.put("name", name);
         json.put("type", type);
         json.put("constants", constants);
         json.put("domain", domain);
-        json.put("valuesX", valuesX);
-        json.put("valuesY", valuesY);
     }
 
     //helper method to check Function toJson's returned JSONObject
@@ -38,18 +35,9 @@ public class JsonTest {
             assertEquals(expectedConst.get(constKey), actualConst.get(constKey));
         }
 
-        //check x values
-        JSONArray expectedValuesX = expectedJson.getJSONArray("valuesX");
-        JSONArray actualValuesX = actualJson.getJSONArray("valuesX");
-        for (int i = 0; i < expectedValuesX.length(); i++) {
-            assertEquals(expectedValuesX.getDouble(i), actualValuesX.getDouble(i), Function.DELTA / 100.0);
-        }
-
-        //check y values
-        JSONArray expectedValuesY = expectedJson.getJSONArray("valuesY");
-        JSONArray actualValuesY = actualJson.getJSONArray("valuesY");
-        for (int i = 0; i < expectedValuesY.length(); i++) {
-            assertEquals(expectedValuesY.getDouble(i), actualValuesY.getDouble(i), Function.DELTA / 100.0);
-        }
+        //check that the samples are not stored (they are recomputed from the rest)
+        assertFalse(actualJson.has("valuesX"));
+        assertFalse(actualJson.has("valuesY"));
+        assertEquals(4, actualJson.length());
     }
 }
@@ -0,0 +1,103 @@
+package model;
+
+import model.evaluator.Evaluator;
+import model.evaluator.ExponentialEvaluator;
+import model.evaluator.LogarithmicEvaluator;
+import model.evaluator.PolynomialEvaluator;
+import model.evaluator.TrigonometricEvaluator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelSamplerTest {
+    private static final int COUNT = 200003; // deliberately not a multiple of Evaluator.ANCHOR_INTERVAL
+
+    @Test
+    public void testParallelIsBitIdenticalToSequential() {
+        Evaluator[] evaluators = {
+            new PolynomialEvaluator(0.521, -2.3134, 4.342, -2.7, 0.0, 0.015),
+            new ExponentialEvaluator(2.34, -0.388, 0.0),
+            new TrigonometricEvaluator(2.0, 2.0, -1.5, -1.5, 2.0, 0.3, 0.5),
+            new LogarithmicEvaluator(1.5, 3.0, -0.5)
+        };
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ParallelSampler sequential = new ParallelSampler(pool, Integer.MAX_VALUE);
+        ParallelSampler parallel = new ParallelSampler(pool, 1000);
+
+        for (Evaluator evaluator : evaluators) {
+            SampleBuffer expected = sequential.sample(evaluator, -1000.0, Function.DELTA, COUNT);
+            SampleBuffer actual = parallel.sample(evaluator, -1000.0, Function.DELTA, COUNT);
+            assertArrayEquals(expected.getValuesX(), actual.getValuesX());
+            assertArrayEquals(expected.getValuesY(), actual.getValuesY());
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    public void testRangeFoundWhileSampling() {
+        Evaluator[] evaluators = {
+            new TrigonometricEvaluator(2.0, 2.0, -1.5, -1.5, 2.0, 0.3, 0.5),
+            new LogarithmicEvaluator(1.5, 3.0, -0.5) // NaN for x <= 0
+        };
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ParallelSampler sequential = new ParallelSampler(pool, Integer.MAX_VALUE);
+        ParallelSampler parallel = new ParallelSampler(pool, 1000);
+
+        for (Evaluator evaluator : evaluators) {
+            for (ParallelSampler sampler : new ParallelSampler[] {sequential, parallel}) {
+                SampleBuffer samples = sampler.sample(evaluator, -1000.0, Function.DELTA, COUNT);
+                SampleBuffer scanned = new SampleBuffer(samples.getValuesX(), samples.getValuesY());
+                assertEquals(scanned.getMinY(), samples.getMinY());
+                assertEquals(scanned.getMaxY(), samples.getMaxY());
+            }
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    public void testIndexBasedValues() {
+        ParallelSampler sampler = new ParallelSampler(ForkJoinPool.commonPool(), 128);
+        SampleBuffer samples = sampler.sample(new LogarithmicEvaluator(1.0, 1.0, 0.0), 1.0, 0.5, 1000);
+
+        assertEquals(1000, samples.size());
+        for (int i = 0; i < samples.size(); i++) {
+            assertEquals(1.0 + i * 0.5, samples.getX(i));
+            assertEquals(Math.log(1.0 + i * 0.5), samples.getY(i), 1e-15);
+        }
+    }
+
+    @Test
+    public void testThresholdHasMinimum() {
+        assertEquals(2 * Evaluator.ANCHOR_INTERVAL, new ParallelSampler(ForkJoinPool.commonPool(), 1).getThreshold());
+        assertEquals(5000, new ParallelSampler(ForkJoinPool.commonPool(), 5000).getThreshold());
+    }
+
+    @Test
+    public void testCountPoints() {
+        assertEquals(601, ParallelSampler.countPoints(-3.0, 3.0, Function.DELTA));
+        assertEquals(176, ParallelSampler.countPoints(-0.5, 1.25, Function.DELTA));
+        assertEquals(1, ParallelSampler.countPoints(2.0, 2.0, Function.DELTA));
+        assertEquals(0, ParallelSampler.countPoints(2.0, 1.0, Function.DELTA));
+        assertEquals(3, ParallelSampler.countPoints(0.0, 0.025, Function.DELTA));
+    }
+
+    @Test
+    public void testFunctionSampleCountIsDeterministic() {
+        HashMap<String, Double> constants = new HashMap<>();
+        constants.put("a", 2.0);
+        constants.put("b", 1.5);
+        List<Double> domain = new ArrayList<>();
+        domain.add(-3.0);
+        domain.add(3.0);
+        Function func = new Function(Function.TYPE_LINEAR, constants, domain);
+
+        assertEquals(601, func.getSamples().size());
+        assertEquals(-3.0, func.getSamples().getX(0));
+        assertEquals(3.0, func.getSamples().getX(600), 1e-12);
+    }
+}
@@ -0,0 +1,112 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunDetectorTest {
+
+    @Test
+    public void testContinuousIsOneRun() {
+        double[] valuesY = {-3.0, -1.0, 1.0, 3.0, 5.0};
+        assertArrayEquals(new int[] {0, 5}, RunDetector.findRuns(valuesY));
+    }
+
+    @Test
+    public void testSteepZeroCrossingIsOneRun() {
+        double[] valuesY = new double[100];
+        for (int i = 0; i < valuesY.length; i++) {
+            valuesY[i] = 1e6 * (i - 49.5);
+        }
+        assertArrayEquals(new int[] {0, 100}, RunDetector.findRuns(valuesY));
+        assertArrayEquals(new int[] {0, 2}, RunDetector.findRuns(new double[] {-1.0, 1.0}));
+    }
+
+    @Test
+    public void testOscillationIsOneRun() {
+        double[] valuesY = new double[1000];
+        for (int i = 0; i < valuesY.length; i++) {
+            valuesY[i] = Math.sin(i * 0.01) * 3 + Math.cos(i * 0.05);
+        }
+        assertArrayEquals(new int[] {0, 1000}, RunDetector.findRuns(valuesY));
+    }
+
+    @Test
+    public void testAliasedOscillationIsOneRun() {
+        double[] valuesY = new double[2000];
+        for (int i = 0; i < valuesY.length; i++) {
+            valuesY[i] = Math.sin(1000 * (-2.54 + i * 0.00254)); //about 2.5 samples per period
+        }
+        assertArrayEquals(new int[] {0, 2000}, RunDetector.findRuns(valuesY));
+
+        for (int i = 0; i < valuesY.length; i++) {
+            valuesY[i] = Math.sin(40 * (-100.0 + i * 0.1)); //sin(40x) sampled every 0.1
+        }
+        assertArrayEquals(new int[] {0, 2000}, RunDetector.findRuns(valuesY));
+    }
+
+    @Test
+    public void testNaNSplitsRuns() {
+        double[] valuesY = {Double.NaN, Double.NaN, 1.0, 2.0, Double.NaN, 3.0, Double.NEGATIVE_INFINITY,
+            4.0, 5.0, 6.0};
+        assertArrayEquals(new int[] {2, 4, 7, 10}, RunDetector.findRuns(valuesY));
+    }
+
+    @Test
+    public void testAllInvalid() {
+        assertArrayEquals(new int[0], RunDetector.findRuns(new double[] {Double.NaN, Double.NaN}));
+        assertArrayEquals(new int[0], RunDetector.findRuns(new double[0]));
+        assertArrayEquals(new int[0], RunDetector.findRuns(new double[] {1.0}));
+    }
+
+    @Test
+    public void testTangentAsymptotes() {
+        double[] valuesY = new double[1000];
+        for (int i = 0; i < valuesY.length; i++) {
+            valuesY[i] = Math.tan(-3.0 + i * 0.006); //asymptotes at -pi/2 and pi/2
+        }
+        int[] runs = RunDetector.findRuns(valuesY);
+
+        assertEquals(6, runs.length);
+        assertEquals(0, runs[0]);
+        assertEquals(1000, runs[5]);
+        for (int run = 0; run < runs.length; run += 2) {
+            for (int i = runs[run] + 1; i < runs[run + 1]; i++) {
+                assertTrue(valuesY[i] > valuesY[i - 1]); //tan() only increases between asymptotes
+            }
+        }
+    }
+
+    @Test
+    public void testOffsetTangentAsymptotes() {
+        double[] offsets = {20.0, 100.0, -100.0};
+        for (double offset : offsets) {
+            double[] valuesY = new double[2000];
+            for (int i = 0; i < valuesY.length; i++) {
+                valuesY[i] = Math.tan(-80.0 + i * 0.08) + offset; //50 asymptotes, the samples never change sign
+            }
+            assertEquals(2 * 51, RunDetector.findRuns(valuesY).length);
+        }
+    }
+
+    @Test
+    public void testFunctionSamplesRuns() {
+        HashMap<String, Double> constants = new HashMap<>();
+        constants.put("a", 1.0);
+        constants.put("b", 1.0);
+        constants.put("c", 0.0);
+        List<Double> domain = new ArrayList<>();
+        domain.add(-2.0);
+        domain.add(2.0);
+        Function func = new Function(Function.TYPE_LOG, constants, domain);
+
+        SampleBuffer samples = func.getSamples(-2.0, 2.0, 401);
+        int[] runs = samples.getRuns();
+        assertArrayEquals(new int[] {201, 401}, runs); //ln(x) is NaN for x < 0 and -infinity at 0
+        assertSame(runs, samples.getRuns());
+    }
+}
@@ -0,0 +1,112 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SampleBufferTest {
+
+    @Test
+    public void testConstructorNoCopy() {
+        double[] valuesX = {0.0, 0.5, 1.0};
+        double[] valuesY = {1.0, 2.0, 3.0};
+        SampleBuffer samples = new SampleBuffer(valuesX, valuesY);
+
+        assertEquals(3, samples.size());
+        assertSame(valuesX, samples.getValuesX());
+        assertSame(valuesY, samples.getValuesY());
+        assertEquals(0.5, samples.getX(1));
+        assertEquals(3.0, samples.getY(2));
+    }
+
+    @Test
+    public void testTrimmedToSmallerSize() {
+        double[] valuesX = {0.0, 0.5, 1.0, 0.0};
+        double[] valuesY = {1.0, 2.0, 3.0, 0.0};
+        SampleBuffer samples = SampleBuffer.trimmedTo(valuesX, valuesY, 3);
+
+        assertEquals(3, samples.size());
+        assertEquals(3, samples.getValuesX().length);
+        assertEquals(1.0, samples.getX(2));
+        assertEquals(3.0, samples.getY(2));
+    }
+
+    @Test
+    public void testTrimmedToExactSize() {
+        double[] valuesX = {0.0, 0.5};
+        double[] valuesY = {1.0, 2.0};
+        SampleBuffer samples = SampleBuffer.trimmedTo(valuesX, valuesY, 2);
+
+        assertSame(valuesX, samples.getValuesX());
+        assertSame(valuesY, samples.getValuesY());
+    }
+
+    @Test
+    public void testListViews() {
+        double[] valuesX = {0.0, 0.5};
+        double[] valuesY = {1.0, 2.0};
+        SampleBuffer samples = new SampleBuffer(valuesX, valuesY);
+        List<Double> listX = samples.asListX();
+        List<Double> listY = samples.asListY();
+
+        assertEquals(2, listX.size());
+        assertEquals(0.5, listX.get(1));
+        assertEquals(1.0, listY.get(0));
+        assertThrows(UnsupportedOperationException.class, () -> listX.add(1.0));
+    }
+
+    @Test
+    public void testFiniteRangeY() {
+        double[] valuesX = {0.0, 1.0, 2.0, 3.0, 4.0, 5.0};
+        double[] valuesY = {Double.NaN, 2.0, Double.NEGATIVE_INFINITY, -1.0, 5.0, Double.POSITIVE_INFINITY};
+        SampleBuffer samples = new SampleBuffer(valuesX, valuesY);
+
+        assertEquals(-1.0, samples.getMinY());
+        assertEquals(5.0, samples.getMaxY());
+    }
+
+    @Test
+    public void testFiniteRangeYNoFiniteValues() {
+        double[] values = {Double.NaN, Double.POSITIVE_INFINITY};
+        SampleBuffer samples = new SampleBuffer(new double[2], values);
+        SampleBuffer empty = new SampleBuffer(new double[0], new double[0]);
+
+        assertTrue(Double.isNaN(samples.getMinY()));
+        assertTrue(Double.isNaN(samples.getMaxY()));
+        assertTrue(Double.isNaN(empty.getMinY()));
+        assertTrue(Double.isNaN(empty.getMaxY()));
+    }
+
+    @Test
+    public void testFittingRangeYWithoutJumps() {
+        double[] valuesY = new double[4097];
+        for (int i = 0; i < valuesY.length; i++) {
+            valuesY[i] = Math.exp(-50.0 + i * 55.0 / 4096); //grows fast, but has no asymptote
+        }
+        valuesY[0] = Double.NaN;
+        SampleBuffer samples = new SampleBuffer(new double[4097], valuesY);
+
+        assertArrayEquals(new double[] {valuesY[1], Math.exp(5.0)}, samples.getFittingRangeY());
+    }
+
+    @Test
+    public void testFittingRangeYLeavesOutJumps() {
+        double[] valuesY = new double[1001];
+        for (int i = 0; i < valuesY.length; i++) {
+            valuesY[i] = Math.tan(-3.0 + i * 0.006); //asymptotes at -pi/2 and pi/2
+        }
+        double[] range = new SampleBuffer(new double[1001], valuesY).getFittingRangeY();
+
+        assertTrue(range[0] < -5.0 && range[0] > -50.0);
+        assertTrue(range[1] > 5.0 && range[1] < 50.0);
+    }
+
+    @Test
+    public void testFittingRangeYNoFiniteValues() {
+        double[] values = {Double.NaN, Double.POSITIVE_INFINITY};
+        assertNull(new SampleBuffer(new double[2], values).getFittingRangeY());
+        assertNull(new SampleBuffer(new double[0], new double[0]).getFittingRangeY());
+    }
+}
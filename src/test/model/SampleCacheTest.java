@@ -0,0 +1,93 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SampleCacheTest {
+    private Workspace workspace;
+    private SampleCache cache;
+
+    @BeforeEach
+    public void setup() {
+        workspace = new Workspace();
+        cache = workspace.getSampleCache();
+    }
+
+    @Test
+    public void testIdenticalFunctionsShareSamples() {
+        Function func1 = helperInitFunction(2.0, -1.5);
+        Function func2 = helperInitFunction(2.0, -1.5);
+        workspace.addFunction(func1, "first");
+        workspace.addFunction(func2, "second");
+
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.getRefCount(func1));
+        assertSame(func1.getSamples(), func2.getSamples());
+    }
+
+    @Test
+    public void testDifferentFunctionsDoNotShare() {
+        Function func1 = helperInitFunction(2.0, -1.5);
+        Function func2 = helperInitFunction(2.0, 1.5);
+        workspace.addFunction(func1, "first");
+        workspace.addFunction(func2, "second");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getRefCount(func1));
+        assertEquals(1, cache.getRefCount(func2));
+        assertNotSame(func1.getSamples(), func2.getSamples());
+    }
+
+    @Test
+    public void testRemoveEvictsUnusedEntries() {
+        Function func1 = helperInitFunction(2.0, -1.5);
+        Function func2 = helperInitFunction(2.0, -1.5);
+        workspace.addFunction(func1, "first");
+        workspace.addFunction(func2, "second");
+
+        workspace.removeFunction("first");
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getRefCount(func2));
+        assertEquals(func1.getSamples().size(), func2.getSamples().size());
+
+        workspace.removeFunction("second");
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getRefCount(func2));
+    }
+
+    @Test
+    public void testReplaceFunctionReleasesOld() {
+        Function func1 = helperInitFunction(2.0, -1.5);
+        Function func2 = helperInitFunction(-2.0, 1.5);
+        workspace.addFunction(func1, "name");
+        workspace.addFunction(func2, "name");
+
+        assertEquals(1, cache.size());
+        assertEquals(0, cache.getRefCount(func1));
+        assertEquals(1, cache.getRefCount(func2));
+    }
+
+    @Test
+    public void testReleaseUnknownFunction() {
+        cache.release(helperInitFunction(2.0, -1.5));
+        assertEquals(0, cache.size());
+    }
+
+    // ~~~~~~~~~~~~~~HELPERS~~~~~~~~~~~~~~~~
+
+    private Function helperInitFunction(double a, double b) {
+        HashMap<String, Double> constants = new HashMap<>();
+        constants.put("a", a);
+        constants.put("b", b);
+        List<Double> domain = new ArrayList<>();
+        domain.add(-3.0);
+        domain.add(3.0);
+        return new Function(Function.TYPE_LINEAR, constants, domain);
+    }
+}
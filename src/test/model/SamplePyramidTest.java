@@ -0,0 +1,120 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SamplePyramidTest {
+    private static final int COUNT = 100000;
+
+    @Test
+    public void testFineQueryReturnsAllSamples() {
+        SamplePyramid pyramid = new SamplePyramid(helperSample(COUNT));
+        SampleBuffer result = pyramid.query(10.0, 20.0, 50);
+
+        assertEquals(11, result.size());
+        assertEquals(10.0, result.getX(0));
+        assertEquals(20.0, result.getX(10));
+        assertEquals(helperY(15.0), result.getY(5));
+        assertEquals(0, pyramid.getBuiltLevels());
+    }
+
+    @Test
+    public void testCoarseQuerySize() {
+        SamplePyramid pyramid = new SamplePyramid(helperSample(COUNT));
+        SampleBuffer result = pyramid.query(0.0, COUNT - 1, 500);
+
+        assertTrue(result.size() <= 2 * 500 + 8);
+        assertTrue(result.size() >= 250);
+        assertEquals(0.0, result.getX(0));
+        assertEquals(COUNT - 1, result.getX(result.size() - 1));
+        for (int i = 1; i < result.size(); i++) {
+            assertTrue(result.getX(i - 1) < result.getX(i));
+        }
+    }
+
+    @Test
+    public void testCoarseQueryKeepsExtremes() {
+        SampleBuffer samples = helperSample(COUNT);
+        SamplePyramid pyramid = new SamplePyramid(samples);
+        SampleBuffer result = pyramid.query(1000.5, 70000.5, 100);
+
+        double expectedMin = Double.POSITIVE_INFINITY;
+        double expectedMax = Double.NEGATIVE_INFINITY;
+        for (int i = 1001; i <= 70000; i++) {
+            expectedMin = Math.min(expectedMin, samples.getY(i));
+            expectedMax = Math.max(expectedMax, samples.getY(i));
+        }
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < result.size(); i++) {
+            assertTrue(result.getX(i) >= 1001.0 && result.getX(i) <= 70000.0);
+            min = Math.min(min, result.getY(i));
+            max = Math.max(max, result.getY(i));
+        }
+        assertEquals(expectedMin, min);
+        assertEquals(expectedMax, max);
+    }
+
+    @Test
+    public void testLevelsBuiltLazily() {
+        SamplePyramid pyramid = new SamplePyramid(helperSample(COUNT));
+        pyramid.query(0.0, 4000.0, 1000);
+        int levels = pyramid.getBuiltLevels();
+        assertEquals(3, levels);
+
+        pyramid.query(0.0, 4000.0, 1000);
+        assertEquals(levels, pyramid.getBuiltLevels());
+        pyramid.query(0.0, COUNT - 1, 100);
+        assertTrue(pyramid.getBuiltLevels() > levels);
+    }
+
+    @Test
+    public void testOutsideRange() {
+        SamplePyramid pyramid = new SamplePyramid(helperSample(COUNT));
+        assertEquals(0, pyramid.query(-10.0, -1.0, 100).size());
+        assertEquals(0, pyramid.query(0.25, 0.75, 100).size());
+    }
+
+    @Test
+    public void testFunctionLevelOfDetail() {
+        HashMap<String, Double> constants = new HashMap<>();
+        constants.put("a", 1.0);
+        constants.put("b", 5.0);
+        constants.put("c", 0.0);
+        constants.put("d", 1.0);
+        constants.put("e", 0.0);
+        constants.put("f", 1.0);
+        constants.put("g", 0.0);
+        List<Double> domain = new ArrayList<>();
+        domain.add(-100.0);
+        domain.add(100.0);
+        Function func = new Function(Function.TYPE_TRIG, constants, domain);
+
+        SampleBuffer result = func.getLevelOfDetail(-100.0, 100.0, 400);
+        assertTrue(result.size() <= 2 * 400 + 8);
+        assertEquals(-100.0, result.getX(0));
+        assertEquals(func.getSamples().getY(0), result.getY(0));
+        assertSame(func.getSampleHandle().getPyramid(), func.getSampleHandle().getPyramid());
+    }
+
+    // ~~~~~~~~~~~~~~HELPERS~~~~~~~~~~~~~~~~
+
+    private SampleBuffer helperSample(int count) {
+        double[] valuesX = new double[count];
+        double[] valuesY = new double[count];
+        for (int i = 0; i < count; i++) {
+            valuesX[i] = i;
+            valuesY[i] = helperY(i);
+        }
+        return new SampleBuffer(valuesX, valuesY);
+    }
+
+    private double helperY(double x) {
+        return Math.sin(x / 700.0) * 100 + Math.sin(x * 1.3) + ((int) x % 9973 == 0 ? 500 : 0);
+    }
+}
@@ -0,0 +1,151 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SampleStoreTest {
+    private static final int POINTS = 100;
+    private static final long BUFFER_BYTES = 2 * (16 + 8 * POINTS);
+
+    private SampleStore store;
+    private int computations;
+
+    @BeforeEach
+    public void setup() {
+        store = new SampleStore(2 * BUFFER_BYTES);
+        computations = 0;
+    }
+
+    @Test
+    public void testParseBudget() {
+        assertEquals(512L << 20, SampleStore.parseBudget("512m", 0));
+        assertEquals(64L << 10, SampleStore.parseBudget("64K", 0));
+        assertEquals(2L << 30, SampleStore.parseBudget(" 2g ", 0));
+        assertEquals(1048576, SampleStore.parseBudget("1048576", 0));
+        assertEquals(7, SampleStore.parseBudget(null, 7));
+        assertEquals(7, SampleStore.parseBudget("lots", 7));
+        assertEquals(7, SampleStore.parseBudget("", 7));
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+        SampleHandle handle = helperInitHandle();
+        SampleBuffer first = handle.get();
+        SampleBuffer second = handle.get();
+
+        assertSame(first, second);
+        assertEquals(1, computations);
+        assertEquals(1, store.getMisses());
+        assertEquals(1, store.getHits());
+        assertEquals(BUFFER_BYTES, store.getUsedBytes());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        SampleHandle handle1 = helperInitHandle();
+        SampleHandle handle2 = helperInitHandle();
+        SampleHandle handle3 = helperInitHandle();
+        handle1.get();
+        handle2.get();
+        handle1.get(); // handle2 is now the least recently used
+        handle3.get();
+
+        assertTrue(handle1.isResident());
+        assertFalse(handle2.isResident());
+        assertTrue(handle3.isResident());
+        assertEquals(1, store.getEvictions());
+        assertEquals(2 * BUFFER_BYTES, store.getUsedBytes());
+    }
+
+    @Test
+    public void testEvictedSamplesAreRecomputed() {
+        SampleHandle handle1 = helperInitHandle();
+        SampleBuffer original = handle1.get();
+        helperInitHandle().get();
+        helperInitHandle().get();
+        assertFalse(handle1.isResident());
+
+        SampleBuffer recomputed = handle1.get();
+        assertEquals(4, computations);
+        assertEquals(4, store.getMisses());
+        assertArrayEquals(original.getValuesX(), recomputed.getValuesX());
+        assertArrayEquals(original.getValuesY(), recomputed.getValuesY());
+    }
+
+    @Test
+    public void testKeepsBufferLargerThanBudget() {
+        store = new SampleStore(0);
+        SampleHandle handle = helperInitHandle();
+        handle.get();
+
+        assertTrue(handle.isResident());
+        assertEquals(0, store.getEvictions());
+    }
+
+    @Test
+    public void testDiscard() {
+        SampleHandle handle = helperInitHandle();
+        handle.get();
+        handle.discard();
+
+        assertFalse(handle.isResident());
+        assertEquals(0, store.getUsedBytes());
+    }
+
+    @Test
+    public void testDiscardedHandleIsNotAdmittedAgain() {
+        SampleHandle handle = helperInitHandle();
+        handle.get();
+        handle.discard();
+
+        SampleBuffer samples = handle.get(); //e.g. a render still holding a removed function
+        assertEquals(POINTS, samples.size());
+        assertTrue(handle.isClosed());
+        assertFalse(handle.isResident());
+        assertEquals(0, store.getUsedBytes());
+        assertNotSame(samples, handle.get());
+        assertEquals(3, computations);
+    }
+
+    @Test
+    public void testFunctionRecomputesAfterEviction() {
+        Function func = helperInitFunction();
+        SampleBuffer original = func.getSamples();
+        func.getSampleHandle().evict();
+
+        SampleBuffer recomputed = func.getSamples();
+        assertNotSame(original, recomputed);
+        assertArrayEquals(original.getValuesY(), recomputed.getValuesY());
+    }
+
+    // ~~~~~~~~~~~~~~HELPERS~~~~~~~~~~~~~~~~
+
+    private SampleHandle helperInitHandle() {
+        return new SampleHandle(() -> {
+            computations++;
+            double[] valuesX = new double[POINTS];
+            double[] valuesY = new double[POINTS];
+            for (int i = 0; i < POINTS; i++) {
+                valuesX[i] = i;
+                valuesY[i] = 2 * i;
+            }
+            return new SampleBuffer(valuesX, valuesY);
+        }, store);
+    }
+
+    private Function helperInitFunction() {
+        HashMap<String, Double> constants = new HashMap<>();
+        constants.put("a", 2.0);
+        constants.put("b", 1.0);
+        List<Double> domain = new ArrayList<>();
+        domain.add(-1.0);
+        domain.add(1.0);
+        return new Function(Function.TYPE_LINEAR, constants, domain);
+    }
+}
@@ -0,0 +1,79 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentClipperTest {
+    private SegmentClipper clipper;
+    private double[] out;
+
+    @BeforeEach
+    public void setup() {
+        clipper = new SegmentClipper(0, 0, 100, 50);
+        out = new double[4];
+    }
+
+    @Test
+    public void testInsideUnchanged() {
+        assertTrue(clipper.clip(10, 10, 90, 40, out));
+        assertArrayEquals(new double[] {10, 10, 90, 40}, out);
+    }
+
+    @Test
+    public void testOutsideDropped() {
+        assertFalse(clipper.clip(-10, -10, -1, 60, out)); //left of the rectangle
+        assertFalse(clipper.clip(110, 10, 200, 20, out)); //right of it
+        assertFalse(clipper.clip(-10, 45, 30, 85, out)); //passes by a corner
+        assertEquals(3, clipper.getSubmitted());
+        assertEquals(0, clipper.getDrawn());
+    }
+
+    @Test
+    public void testCrossingTrimmed() {
+        assertTrue(clipper.clip(-50, 25, 150, 25, out));
+        assertArrayEquals(new double[] {0, 25, 100, 25}, out);
+
+        assertTrue(clipper.clip(50, 25, 50, 1e9, out));
+        assertArrayEquals(new double[] {50, 25, 50, 50}, out);
+
+        assertTrue(clipper.clip(-10, -10, 60, 60, out));
+        assertArrayEquals(new double[] {0, 0, 50, 50}, out, 1e-12);
+    }
+
+    @Test
+    public void testHugeAndInfiniteCoordinates() {
+        assertTrue(clipper.clip(50, 25, 51, Double.POSITIVE_INFINITY, out));
+        assertEquals(50, out[0]);
+        assertEquals(25, out[1]);
+        assertEquals(50, out[2], 1e-9);
+        assertEquals(50, out[3]);
+
+        assertTrue(clipper.clip(-1e308, -1e308, 1e308, 1e308, out));
+        for (double value : out) {
+            assertTrue(value >= 0 && value <= 100);
+        }
+        assertFalse(clipper.clip(-2, 10, -1, Double.NEGATIVE_INFINITY, out));
+        assertTrue(clipper.clip(20, Double.NEGATIVE_INFINITY, 21, 10, out));
+        assertEquals(21, out[0], 1e-9);
+        assertEquals(0, out[1]);
+    }
+
+    @Test
+    public void testNaNDropped() {
+        assertFalse(clipper.clip(10, Double.NaN, 20, 20, out));
+        assertFalse(clipper.clip(10, 10, Double.NaN, 20, out));
+        assertEquals(2, clipper.getSubmitted());
+        assertEquals(0, clipper.getDrawn());
+    }
+
+    @Test
+    public void testCounters() {
+        clipper.clip(10, 10, 20, 20, out);
+        clipper.clip(-10, 10, 20, 20, out);
+        clipper.clip(-10, 10, -5, 20, out);
+        assertEquals(3, clipper.getSubmitted());
+        assertEquals(2, clipper.getDrawn());
+    }
+}
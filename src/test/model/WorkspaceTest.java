@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -98,6 +99,7 @@ public class WorkspaceTest {
         //check
         JSONObject actualJson = workspace.toJson();
         JSONArray actualArray = actualJson.getJSONArray("functionList");
+        assertEquals(Workspace.JSON_VERSION, actualJson.getInt("version"));
 
         for (int i = 0; i < actualArray.length(); i++) {
             JsonTest.helperToJsonCheck(expectedJsonFuncArray.getJSONObject(i), actualArray.getJSONObject(i));
@@ -189,6 +191,242 @@ public class WorkspaceTest {
         assertNotEquals(otherWorkspace.hashCode(), workspace.hashCode());
     }
 
+    @Test
+    public void testVersion() {
+        long initial = workspace.getVersion();
+        double[] constants = {2.0, -1.5, 0.5};
+        helperAddFunction(workspace, "func", Function.TYPE_EXP, -3.0, 3.0, constants);
+        assertEquals(initial + 1, workspace.getVersion());
+
+        helperAddFunction(workspace, "func", Function.TYPE_LOG, 1.0, 3.0, constants); //replaces "func"
+        assertEquals(initial + 2, workspace.getVersion());
+
+        workspace.removeFunction("not there");
+        assertEquals(initial + 2, workspace.getVersion());
+        workspace.removeFunction("func");
+        assertEquals(initial + 3, workspace.getVersion());
+    }
+
+    @Test
+    public void testRanges() {
+        assertNull(workspace.getRangeX());
+        assertNull(workspace.getRangeY());
+
+        double[] constants1 = {-1.5, -0.5};
+        helperAddFunction(workspace, "func1", Function.TYPE_LINEAR, -3.0, 3.0, constants1); //y in [-5, 4]
+        double[] constants2 = {1.0, 0.0};
+        helperAddFunction(workspace, "func2", Function.TYPE_LINEAR, 0.0, 10.0, constants2); //y in [0, 10]
+        assertArrayEquals(new double[] {-3.0, 10.0}, workspace.getRangeX());
+        assertArrayEquals(new double[] {-5.0, 10.0}, workspace.getRangeY(), 1e-9);
+
+        workspace.removeFunction("func2");
+        assertArrayEquals(new double[] {-3.0, 3.0}, workspace.getRangeX());
+        assertArrayEquals(new double[] {-5.0, 4.0}, workspace.getRangeY(), 1e-9);
+
+        helperAddFunction(workspace, "func1", Function.TYPE_LINEAR, 0.0, 1.0, constants2); //replaces "func1"
+        assertArrayEquals(new double[] {0.0, 1.0}, workspace.getRangeX());
+        assertArrayEquals(new double[] {0.0, 1.0}, workspace.getRangeY(), 1e-9);
+
+        workspace.removeFunction("func1");
+        assertNull(workspace.getRangeX());
+        assertNull(workspace.getRangeY());
+    }
+
+    @Test
+    public void testRangesDuplicatesAndNoFiniteValues() {
+        double[] constants = {1.0, 0.0};
+        helperAddFunction(workspace, "func1", Function.TYPE_LINEAR, 0.0, 2.0, constants);
+        helperAddFunction(workspace, "func2", Function.TYPE_LINEAR, 0.0, 2.0, constants);
+        double[] constantsLog = {1.0, 1.0, 0.0};
+        helperAddFunction(workspace, "log", Function.TYPE_LOG, -3.0, -1.0, constantsLog); //NaN everywhere
+        assertArrayEquals(new double[] {0.0, 2.0}, workspace.getRangeY(), 1e-9);
+
+        workspace.removeFunction("func1"); //func2 still has the same range
+        workspace.removeFunction("log");
+        assertArrayEquals(new double[] {0.0, 2.0}, workspace.getRangeX());
+        assertArrayEquals(new double[] {0.0, 2.0}, workspace.getRangeY(), 1e-9);
+
+        workspace.removeFunction("func2");
+        assertNull(workspace.getRangeY());
+    }
+
+    @Test
+    public void testRangeYRemovedBeforeSampled() {
+        double[] constants = {1.0, 0.0};
+        helperAddFunction(workspace, "func", Function.TYPE_LINEAR, 0.0, 2.0, constants);
+        workspace.removeFunction("func"); //never included in the y-range
+        assertNull(workspace.getRangeY());
+    }
+
+    @Test
+    public void testRangeYLeavesOutAsymptotes() {
+        double[] constants = {1.0, 1.0, 0.0, 0.0, 1.0, 1.0, 0.0}; //sin(x) + tan(x)
+        helperAddFunction(workspace, "func", Function.TYPE_TRIG, -3.0, 3.0, constants);
+        double[] range = workspace.getRangeY();
+
+        assertTrue(range[0] < -10.0 && range[0] > -50.0);
+        assertTrue(range[1] > 10.0 && range[1] < 50.0);
+    }
+
+    @Test
+    public void testRangeYCancelled() {
+        for (int i = 0; i < 200; i++) {
+            double[] constants = {1.0, i};
+            helperAddFunction(workspace, "func" + i, Function.TYPE_LINEAR, 0.0, 2.0, constants);
+        }
+        double[] range = workspace.getRangeY(() -> true); //functions not started yet are skipped
+        assertTrue(range == null || range[1] <= 201.0);
+
+        //the skipped functions are sampled on the next call that is not cancelled
+        assertArrayEquals(new double[] {0.0, 201.0}, workspace.getRangeY(() -> false), 1e-9);
+    }
+
+    @Test
+    public void testSampleRangesY() {
+        double[] constants = {1.0, 0.0};
+        helperAddFunction(workspace, "func1", Function.TYPE_LINEAR, 0.0, 2.0, constants);
+        helperAddFunction(workspace, "func2", Function.TYPE_LINEAR, -1.0, 1.0, constants);
+
+        SamplingJob<double[]> job = workspace.sampleRangesY();
+        job.whenDone().join();
+        assertEquals(2, job.getFutures().size());
+        assertArrayEquals(new double[] {0.0, 2.0}, job.getFuture("func1").join(), 1e-9);
+        assertArrayEquals(new double[] {-1.0, 2.0}, workspace.getRangeY(), 1e-9);
+
+        assertTrue(workspace.sampleRangesY().getFutures().isEmpty()); //the ranges are known now
+    }
+
+    @Test
+    public void testListenerToldOfEachChange() {
+        List<WorkspaceChange> changes = new ArrayList<>();
+        workspace.addListener(changes::add);
+        double[] constants = {1.0, 0.0};
+        Function func = helperAddFunction(workspace, "func", Function.TYPE_LINEAR, 0.0, 2.0, constants);
+        workspace.removeFunction("not there"); //nothing changes, so nothing is delivered
+        workspace.removeFunction("func");
+
+        assertEquals(2, changes.size());
+        assertEquals(func, changes.get(0).getAdded().get("func"));
+        assertTrue(changes.get(0).getRemoved().isEmpty());
+        assertEquals(workspace.getVersion() - 1, changes.get(0).getVersion());
+        assertTrue(changes.get(1).getAdded().isEmpty());
+        assertTrue(changes.get(1).getRemoved().contains("func"));
+        assertEquals(workspace.getVersion(), changes.get(1).getVersion());
+    }
+
+    @Test
+    public void testBatchDeliveredOnce() {
+        HashMap<String, Function> functions = new HashMap<>();
+        String[] funcNames = {"func1", "func2", "func3"};
+        helperInitMultipleFunctions(workspace, functions, funcNames);
+        List<WorkspaceChange> changes = new ArrayList<>();
+        workspace.addListener(changes::add);
+
+        workspace.beginBatch();
+        workspace.removeFunction("func1");
+        workspace.beginBatch(); //nested: only the outermost batch delivers
+        double[] constants = {1.0, 0.0};
+        Function func4 = helperAddFunction(workspace, "func4", Function.TYPE_LINEAR, 0.0, 2.0, constants);
+        helperAddFunction(workspace, "func5", Function.TYPE_LINEAR, 0.0, 3.0, constants);
+        workspace.endBatch();
+        workspace.removeFunction("func5");
+        workspace.addFunction(functions.get("func1"), "func1"); //removed, then added back
+        assertTrue(changes.isEmpty());
+        workspace.endBatch();
+
+        assertEquals(1, changes.size());
+        WorkspaceChange change = changes.get(0);
+        assertEquals(2, change.getAdded().size());
+        assertEquals(func4, change.getAdded().get("func4"));
+        assertEquals(functions.get("func1"), change.getAdded().get("func1"));
+        assertEquals(1, change.getRemoved().size());
+        assertTrue(change.getRemoved().contains("func5"));
+        assertEquals(workspace.getVersion(), change.getVersion());
+    }
+
+    @Test
+    public void testAddFunctionsAsOneBatch() {
+        Workspace source = new Workspace();
+        HashMap<String, Function> functions = new HashMap<>();
+        String[] funcNames = {"func1", "func2", "func3"};
+        helperInitMultipleFunctions(source, functions, funcNames);
+        List<WorkspaceChange> changes = new ArrayList<>();
+        workspace.addListener(changes::add);
+        workspace.beginBatch();
+        workspace.endBatch(); //an empty batch delivers nothing
+
+        workspace.addFunctions(source.getFunctionList());
+        assertEquals(1, changes.size());
+        assertEquals(functions, changes.get(0).getAdded());
+        assertFalse(changes.get(0).isEmpty());
+        assertEquals(source, workspace);
+
+        List<WorkspaceChange> others = new ArrayList<>();
+        WorkspaceListener other = others::add;
+        workspace.addListener(other);
+        workspace.removeListener(other);
+        workspace.removeFunction("func2");
+        assertEquals(2, changes.size());
+        assertTrue(others.isEmpty());
+    }
+
+    @Test
+    public void testSampleAll() {
+        HashMap<String, Function> functions = new HashMap<>();
+        String[] funcNames = {"func1", "func2", "func3"};
+        helperInitMultipleFunctions(workspace, functions, funcNames);
+
+        SamplingJob<SampleBuffer> job = workspace.sampleAll();
+        job.whenDone().join();
+
+        assertTrue(job.isDone());
+        assertEquals(3, job.getFutures().size());
+        for (String funcName : funcNames) {
+            assertSame(functions.get(funcName).getSamples(), job.getFuture(funcName).join());
+        }
+        assertNull(job.getFuture("not a function"));
+    }
+
+    @Test
+    public void testEvaluateAll() {
+        HashMap<String, Function> functions = new HashMap<>();
+        String[] funcNames = {"func1", "func2", "func3"};
+        helperInitMultipleFunctions(workspace, functions, funcNames);
+        double[] xs = {-1.0, 0.0, 0.5};
+
+        SamplingJob<double[]> job = workspace.evaluateAll(xs);
+        for (String funcName : funcNames) {
+            double[] out = job.getFuture(funcName).join();
+            for (int i = 0; i < xs.length; i++) {
+                assertEquals(functions.get(funcName).evalFunction(xs[i]), out[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testSampleAllCancel() {
+        for (int i = 0; i < 200; i++) {
+            double[] constants = {2.0, -1.5, 0.5 + i};
+            helperAddFunction(workspace, "func" + i, Function.TYPE_EXP, -300.0, 300.0, constants);
+        }
+
+        SamplingJob<SampleBuffer> job = workspace.sampleAll();
+        job.cancel();
+        job.whenDone().join();
+
+        assertTrue(job.isDone());
+        for (CompletableFuture<SampleBuffer> future : job.getFutures().values()) {
+            assertTrue(future.isCancelled() || future.join().size() == 60001);
+        }
+    }
+
+    @Test
+    public void testSampleAllEmpty() {
+        SamplingJob<SampleBuffer> job = workspace.sampleAll();
+        assertTrue(job.isDone());
+        assertTrue(job.getFutures().isEmpty());
+    }
+
     //~~~~~~~~~~~~~HELPERS~~~~~~~~~~~~~
 
     //constants helper
@@ -260,8 +498,7 @@ public class WorkspaceTest {
         for (String funcName : funcNames) {
             JSONObject funcJson = new JSONObject();
             JsonTest.helperInitJsonObject(funcJson, funcName, functions.get(funcName).getFunctionType(),
-                    functions.get(funcName).getConstants(), functions.get(funcName).getDomain(),
-                    functions.get(funcName).getValuesX(), functions.get(funcName).getValuesY());
+                    functions.get(funcName).getConstants(), functions.get(funcName).getDomain());
             expectedJsonFuncArray.put(funcJson);
         }
         expectedJson.put("functionList", expectedJsonFuncArray);
@@ -0,0 +1,104 @@
+package model.evaluator;
+
+import org.junit.jupiter.api.Test;
+
+import static java.lang.Math.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvaluatorTest {
+    private final double[] testPoints = {-2.5, -0.7389, 0.0, 0.7389, 1.0, 2.5};
+    private final double TOLERANCE = 1e-12;
+
+    @Test
+    public void testLinear() {
+        Evaluator evaluator = new LinearEvaluator(1.5, -0.5);
+        for (double x : testPoints) {
+            assertEquals(1.5 * x - 0.5, evaluator.eval(x), TOLERANCE);
+        }
+    }
+
+    @Test
+    public void testPolynomial() {
+        Evaluator evaluator = new PolynomialEvaluator(1.0, -2.0, 1.0, 1.0, -1.5, 0.5);
+        for (double x : testPoints) {
+            double expected = x*x*x*x*x - 2.0 * x*x*x*x + x*x*x + x*x - 1.5 * x + 0.5;
+            assertEquals(expected, evaluator.eval(x), TOLERANCE);
+        }
+    }
+
+    @Test
+    public void testExponential() {
+        Evaluator evaluator = new ExponentialEvaluator(0.5, -2.5, -0.5);
+        for (double x : testPoints) {
+            assertEquals(0.5 * exp(-2.5 * x) - 0.5, evaluator.eval(x), TOLERANCE);
+        }
+    }
+
+    @Test
+    public void testTrigonometric() {
+        Evaluator evaluator = new TrigonometricEvaluator(0.5, 1.5, -0.5, 2.0, 0.5, -2.5, 1.0);
+        for (double x : testPoints) {
+            double expected = 0.5 * sin(1.5 * x) - 0.5 * cos(2.0 * x) + 0.5 * tan(-2.5 * x) + 1.0;
+            assertEquals(expected, evaluator.eval(x), TOLERANCE);
+        }
+    }
+
+    @Test
+    public void testLogarithmic() {
+        Evaluator evaluator = new LogarithmicEvaluator(1.5, 3.0, -0.5);
+        assertEquals(1.5 * log(3.0 * 0.7389) - 0.5, evaluator.eval(0.7389), TOLERANCE);
+        assertTrue(Double.isNaN(evaluator.eval(-1.0)));
+    }
+
+    @Test
+    public void testUndefined() {
+        Evaluator evaluator = new UndefinedEvaluator();
+        for (double x : testPoints) {
+            assertTrue(Double.isNaN(evaluator.eval(x)));
+        }
+    }
+
+    @Test
+    public void testBatchMatchesScalar() {
+        for (Evaluator evaluator : allEvaluators()) {
+            double[] out = new double[testPoints.length];
+            evaluator.evalBatch(testPoints, out);
+            for (int i = 0; i < testPoints.length; i++) {
+                assertEquals(evaluator.eval(testPoints[i]), out[i], 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testGridMatchesScalar() {
+        for (Evaluator evaluator : allEvaluators()) {
+            double[] out = new double[100];
+            out[0] = -1.0;
+            evaluator.evalGrid(0.1, 0.01, 1, 99, out);
+            assertEquals(-1.0, out[0]);
+            assertEquals(0.0, out[99]);
+            double bound = evaluator.gridErrorBound(0.1, 0.01, 1, 99);
+            for (int i = 1; i < 99; i++) {
+                double expected = evaluator.eval(0.1 + i * 0.01);
+                if (Double.isNaN(expected)) {
+                    assertTrue(Double.isNaN(out[i]));
+                } else {
+                    assertEquals(expected, out[i], bound + 4 * Math.ulp(expected));
+                }
+            }
+        }
+    }
+
+    // ~~~~~~~~~~~~~~HELPERS~~~~~~~~~~~~~~~~
+
+    private Evaluator[] allEvaluators() {
+        return new Evaluator[] {
+            new LinearEvaluator(1.5, -0.5),
+            new PolynomialEvaluator(1.0, -2.0, 1.0, 1.0, -1.5, 0.5),
+            new ExponentialEvaluator(0.5, -2.5, -0.5),
+            new TrigonometricEvaluator(0.5, 1.5, -0.5, 2.0, 0.5, -2.5, 1.0),
+            new LogarithmicEvaluator(1.5, 3.0, -0.5),
+            new UndefinedEvaluator()
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package model.evaluator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ForwardDifferenceSamplerTest {
+    private static final int COUNT = 100000;
+
+    @Test
+    public void testQuinticMatchesHorner() {
+        PolynomialEvaluator horner = new PolynomialEvaluator(0.521, -2.3134, 4.342, -2.7, 0.0, 0.015);
+        ForwardDifferenceSampler sampler = new ForwardDifferenceSampler(0.015, 0.0, -2.7, 4.342, -2.3134, 0.521);
+        helperCheckAgainstHorner(horner, sampler, -50.0, 0.001);
+    }
+
+    @Test
+    public void testLinearMatchesHorner() {
+        LinearEvaluator exact = new LinearEvaluator(-3.75, 12.5);
+        ForwardDifferenceSampler sampler = new ForwardDifferenceSampler(12.5, -3.75);
+        helperCheckAgainstHorner(exact, sampler, -500.0, 0.01);
+    }
+
+    @Test
+    public void testRandomPolynomialsWithinBound() {
+        Random random = new Random(210);
+        for (int trial = 0; trial < 20; trial++) {
+            double[] c = new double[6];
+            for (int k = 0; k < c.length; k++) {
+                c[k] = random.nextGaussian() * 3;
+            }
+            PolynomialEvaluator horner = new PolynomialEvaluator(c[5], c[4], c[3], c[2], c[1], c[0]);
+            ForwardDifferenceSampler sampler = new ForwardDifferenceSampler(c);
+            helperCheckAgainstHorner(horner, sampler, random.nextDouble() * -20, Math.abs(random.nextGaussian()) / 1000);
+        }
+    }
+
+    @Test
+    public void testSlicesAreBitIdentical() {
+        ForwardDifferenceSampler sampler = new ForwardDifferenceSampler(0.5, -1.5, 1.0, 1.0, -2.0, 1.0);
+        double[] whole = new double[COUNT];
+        double[] sliced = new double[COUNT];
+        sampler.sample(-3.0, 0.01, 0, COUNT, whole);
+
+        int sliceSize = Evaluator.ANCHOR_INTERVAL * 7;
+        for (int first = 0; first < COUNT; first += sliceSize) {
+            sampler.sample(-3.0, 0.01, first, Math.min(COUNT, first + sliceSize), sliced);
+        }
+        assertArrayEquals(whole, sliced);
+    }
+
+    @Test
+    public void testUnalignedFirstIndex() {
+        PolynomialEvaluator horner = new PolynomialEvaluator(1.0, -2.0, 1.0, 1.0, -1.5, 0.5);
+        ForwardDifferenceSampler sampler = new ForwardDifferenceSampler(0.5, -1.5, 1.0, 1.0, -2.0, 1.0);
+        double[] out = new double[200];
+        sampler.sample(-1.0, 0.01, 37, 200, out);
+
+        assertEquals(0.0, out[36]);
+        assertEquals(horner.eval(-1.0 + 37 * 0.01), out[37]);
+        for (int i = 37; i < 200; i++) {
+            assertEquals(horner.eval(-1.0 + i * 0.01), out[i], sampler.errorBound(-1.0, 0.01, 37, 200) + 1e-12);
+        }
+    }
+
+    @Test
+    public void testEvaluatorUsesSampler() {
+        PolynomialEvaluator evaluator = new PolynomialEvaluator(1.0, -2.0, 1.0, 1.0, -1.5, 0.5);
+        double[] out = new double[1000];
+        evaluator.evalGrid(-3.0, 0.01, 0, out.length, out);
+
+        double bound = evaluator.gridErrorBound(-3.0, 0.01, 0, out.length);
+        assertTrue(bound > 0);
+        for (int i = 0; i < out.length; i++) {
+            assertEquals(evaluator.eval(-3.0 + i * 0.01), out[i], bound + 1e-12);
+        }
+    }
+
+    // ~~~~~~~~~~~~~~HELPERS~~~~~~~~~~~~~~~~
+
+    // checks the sampler against Horner evaluation, allowing the sampler's error bound plus Horner's own error
+    private void helperCheckAgainstHorner(Evaluator horner, ForwardDifferenceSampler sampler, double start,
+                                          double step) {
+        double[] out = new double[COUNT];
+        sampler.sample(start, step, 0, COUNT, out);
+        double bound = sampler.errorBound(start, step, 0, COUNT);
+
+        for (int i = 0; i < COUNT; i++) {
+            double expected = horner.eval(start + i * step);
+            double hornerError = 16 * Math.ulp(1.0) * Math.max(1.0, Math.abs(expected));
+            assertEquals(expected, out[i], bound + hornerError, "at index " + i);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package model.evaluator;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// tests the recurrence-based evalGrid of ExponentialEvaluator and TrigonometricEvaluator against their scalar path
+// ***errors are measured in ULPs of the largest |f(x)| on the grid, since sin and cos cross zero, where the ULP of
+// the value itself is meaninglessly small
+class RecurrenceSamplerTest {
+    private static final double MAX_ULP_ERROR = 64;
+
+    @Test
+    public void testExponentialUlpError() {
+        Evaluator evaluator = new ExponentialEvaluator(2.34, -0.388, 0.0);
+        assertTrue(helperMaxUlpError(evaluator, -3.0, 0.001, 6001) <= MAX_ULP_ERROR);
+
+        evaluator = new ExponentialEvaluator(1.5, 2.0, -0.5);
+        assertTrue(helperMaxUlpError(evaluator, -3.0, 0.001, 6001) <= MAX_ULP_ERROR);
+    }
+
+    @Test
+    public void testSinCosUlpError() {
+        Evaluator evaluator = new TrigonometricEvaluator(2.0, 2.0, -1.5, -1.5, 0.0, 0.0, 0.5);
+        assertTrue(helperMaxUlpError(evaluator, -3.0, 0.001, 6001) <= MAX_ULP_ERROR);
+    }
+
+    @Test
+    public void testTanUlpError() {
+        // tan(0.3x) has no asymptote in [-3, 3]
+        Evaluator evaluator = new TrigonometricEvaluator(2.0, 2.0, -1.5, -1.5, 2.0, 0.3, 0.5);
+        assertTrue(helperMaxUlpError(evaluator, -3.0, 0.001, 6001) <= MAX_ULP_ERROR);
+    }
+
+    @Test
+    public void testWideDomainWithinBound() {
+        Evaluator[] evaluators = {
+            new ExponentialEvaluator(2.34, -0.388, 0.0),
+            new TrigonometricEvaluator(1.0, 2.0, 1.5, -3.0, 0.0, 0.0, 0.0)
+        };
+        for (Evaluator evaluator : evaluators) {
+            double[] out = new double[100000];
+            evaluator.evalGrid(-50.0, 0.01, 0, out.length, out);
+            double bound = evaluator.gridErrorBound(-50.0, 0.01, 0, out.length);
+            for (int i = 0; i < out.length; i++) {
+                assertEquals(evaluator.eval(-50.0 + i * 0.01), out[i], bound);
+            }
+        }
+    }
+
+    @Test
+    public void testExponentialRecoversFromUnderflow() {
+        Evaluator evaluator = new ExponentialEvaluator(1.0, 1.0, 0.0);
+        double[] out = new double[64];
+        evaluator.evalGrid(-800.0, 15.0, 0, out.length, out); //e^-800 underflows to 0 at the anchor
+        double bound = evaluator.gridErrorBound(-800.0, 15.0, 0, out.length);
+        for (int i = 0; i < out.length; i++) {
+            assertEquals(evaluator.eval(-800.0 + i * 15.0), out[i], bound);
+        }
+        assertEquals(Math.exp(145.0), out[63], Math.ulp(Math.exp(145.0)) * MAX_ULP_ERROR);
+    }
+
+    @Test
+    public void testExponentialRecoversFromSubnormal() {
+        Evaluator evaluator = new ExponentialEvaluator(1.0, 1.0, 0.0);
+        double[] out = new double[64];
+        evaluator.evalGrid(-740.0, 12.0, 0, out.length, out); //e^-740 is a subnormal at the anchor
+        double bound = evaluator.gridErrorBound(-740.0, 12.0, 0, out.length);
+        for (int i = 0; i < out.length; i++) {
+            assertEquals(evaluator.eval(-740.0 + i * 12.0), out[i], bound);
+        }
+        assertEquals(Math.exp(4.0), out[62], Math.ulp(Math.exp(4.0)) * MAX_ULP_ERROR);
+    }
+
+    @Test
+    public void testTanAsymptoteHasInfiniteBound() {
+        Evaluator evaluator = new TrigonometricEvaluator(0.0, 0.0, 0.0, 0.0, 1.0, 1.0, 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, evaluator.gridErrorBound(-3.0, 0.01, 0, 601));
+        assertTrue(evaluator.gridErrorBound(-1.0, 0.01, 0, 201) < 1e-12);
+    }
+
+    @Test
+    public void testSlicesAreBitIdentical() {
+        Evaluator[] evaluators = {
+            new ExponentialEvaluator(2.34, -0.388, 0.0),
+            new TrigonometricEvaluator(2.0, 2.0, -1.5, -1.5, 2.0, 0.3, 0.5)
+        };
+        for (Evaluator evaluator : evaluators) {
+            double[] whole = new double[5000];
+            double[] sliced = new double[5000];
+            evaluator.evalGrid(-3.0, 0.001, 0, whole.length, whole);
+            int sliceSize = Evaluator.ANCHOR_INTERVAL * 3;
+            for (int first = 0; first < sliced.length; first += sliceSize) {
+                evaluator.evalGrid(-3.0, 0.001, first, Math.min(sliced.length, first + sliceSize), sliced);
+            }
+            assertArrayEquals(whole, sliced);
+        }
+    }
+
+    // ~~~~~~~~~~~~~~HELPERS~~~~~~~~~~~~~~~~
+
+    // returns the largest difference between evalGrid and eval, in ULPs of the largest |f(x)| on the grid
+    private double helperMaxUlpError(Evaluator evaluator, double start, double step, int count) {
+        double[] out = new double[count];
+        evaluator.evalGrid(start, step, 0, count, out);
+
+        double scale = 0;
+        double maxError = 0;
+        for (int i = 0; i < count; i++) {
+            double expected = evaluator.eval(start + i * step);
+            scale = Math.max(scale, Math.abs(expected));
+            maxError = Math.max(maxError, Math.abs(expected - out[i]));
+        }
+        return maxError / Math.ulp(scale);
+    }
+}
@@ -3,16 +3,19 @@ package persistence;
 import model.Function;
 import model.Workspace;
 
+import org.json.JSONException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assertions.*;
 
 // CITATION: modelled after JsonSerializationDemo's JsonReaderTest test class
 // https://github.students.cs.ubc.ca/CPSC210/JsonSerializationDemo/commit/d79763d7ed5bb61196c51570598336948efe1202
@@ -69,8 +72,100 @@ public class JsonReaderTest {
         assertEquals(expectedFuncs[1], workspace.getFunction(expectedFunc2Name));
     }
 
+    @Test
+    public void testJsonReaderStreamsFunctions() {
+        reader = new JsonReader("./data/JsonReader_GeneralWorkspace.json");
+        List<String> names = new ArrayList<>();
+        List<Long> progress = new ArrayList<>();
+        long[] total = new long[1];
+
+        try {
+            boolean complete = reader.read((name, func) -> names.add(name), (done, size) -> {
+                progress.add(done);
+                total[0] = size;
+                return true;
+            });
+            assertTrue(complete);
+        } catch (IOException ioe) {
+            fail("IOException was not expected");
+        }
+
+        assertEquals(2, names.size());
+        assertEquals("my test exponential", names.get(0)); //in file order
+        assertEquals("polynomial test", names.get(1));
+        assertEquals(2, progress.size());
+        assertTrue(progress.get(0) <= progress.get(1));
+        assertTrue(progress.get(1) <= total[0]);
+        assertEquals(new File("./data/JsonReader_GeneralWorkspace.json").length(), total[0]);
+    }
+
+    @Test
+    public void testJsonReaderStopsWhenProgressSaysSo() {
+        reader = new JsonReader("./data/JsonReader_GeneralWorkspace.json");
+        List<String> names = new ArrayList<>();
+
+        try {
+            assertFalse(reader.read((name, func) -> names.add(name), (done, size) -> false));
+        } catch (IOException ioe) {
+            fail("IOException was not expected");
+        }
+
+        assertEquals(1, names.size());
+    }
+
+    @Test
+    public void testJsonReaderSkipsOtherMembers() throws IOException {
+        String json = "{\"version\": 2, \"functionList\": [{\"name\": \"f\", \"type\": \"linear\", "
+                + "\"constants\": {\"a\": 1.0, \"b\": 2.0}, \"domain\": [0, 1], \"valuesX\": [0, 1]}], "
+                + "\"other\": {\"functionList\": 1}}";
+        reader = new JsonReader(helperTempFile(json));
+
+        workspace = reader.read();
+
+        assertEquals(1, workspace.getFunctionListLength());
+        assertEquals(Function.TYPE_LINEAR, workspace.getFunction("f").getFunctionType());
+        assertEquals(0, new JsonReader(helperTempFile("{}")).read().getFunctionListLength());
+        assertEquals(0, new JsonReader(helperTempFile(" { \"functionList\" : [ ] } ")).read()
+                .getFunctionListLength());
+    }
+
+    @Test
+    public void testJsonReaderMalformedFile() throws IOException {
+        String[] malformed = {"", "[]", "{\"functionList\": [1]}", "{\"functionList\": [{\"name\": \"f\"}]}",
+            "{\"functionList\": [] \"x\": 1}"};
+        for (String json : malformed) {
+            reader = new JsonReader(helperTempFile(json));
+            assertThrows(JSONException.class, () -> reader.read());
+        }
+    }
+
+    @Test
+    public void testJsonReaderVersions() throws IOException {
+        String function = "{\"name\": \"f\", \"type\": \"linear\", \"constants\": {\"a\": 1.0, \"b\": 2.0}, "
+                + "\"domain\": [0, 1]}";
+        for (int version = 1; version <= Workspace.JSON_VERSION; version++) {
+            String json = "{\"version\": " + version + ", \"functionList\": [" + function + "]}";
+            reader = new JsonReader(helperTempFile(json));
+            assertEquals(1, reader.read().getFunctionListLength());
+        }
+
+        reader = new JsonReader(helperTempFile("{\"version\": " + (Workspace.JSON_VERSION + 1)
+                + ", \"functionList\": [" + function + "]}"));
+        assertThrows(JSONException.class, () -> reader.read());
+        reader = new JsonReader(helperTempFile("{\"version\": \"2\", \"functionList\": []}"));
+        assertThrows(JSONException.class, () -> reader.read());
+    }
+
     // ~~~~~~~~~~~~~~HELPERS~~~~~~~~~~~~~~~~
 
+    private String helperTempFile(String contents) throws IOException {
+        File file = File.createTempFile("JsonReaderTest", ".json");
+        file.deleteOnExit();
+        Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+        return file.getAbsolutePath();
+    }
+
+
     private Function[] helperInitFunctions() {
         String type1 = Function.TYPE_EXP;
         HashMap<String, Double> constants1 = new HashMap<>();
@@ -3,16 +3,19 @@ package persistence;
 import model.Function;
 import model.Workspace;
 
+import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assertions.*;
 
 // CITATION: modelled after JsonSerializationDemo's JsonWriterTest test class
 // https://github.students.cs.ubc.ca/CPSC210/JsonSerializationDemo/commit/d79763d7ed5bb61196c51570598336948efe1202
@@ -60,6 +63,71 @@ public class JsonWriterTest {
         helperTestWriter(2);
     }
 
+    @Test
+    public void testWriterReportsProgress() throws IOException {
+        File file = helperTempFile();
+        Function[] funcs = helperInitFunctions();
+        workspace.addFunction(funcs[0], "my exp func");
+        workspace.addFunction(funcs[1], "my poly func");
+        List<Long> progress = new ArrayList<>();
+
+        boolean complete = helperWriteFunctions((done, total) -> {
+            progress.add(done);
+            assertEquals(2, total);
+            return true;
+        });
+
+        assertTrue(complete);
+        assertEquals(List.of(1L, 2L), progress);
+        assertEquals(workspace, new JsonReader(file.getAbsolutePath()).read());
+    }
+
+    @Test
+    public void testWriterCompactFormat() throws IOException {
+        File file = helperTempFile();
+        Function[] funcs = helperInitFunctions();
+        workspace.addFunction(funcs[0], "my exp func");
+
+        helperWriteWorkspace();
+
+        JSONObject json = helperReadJson(file);
+        assertEquals(Workspace.JSON_VERSION, json.getInt("version"));
+        JSONObject funcJson = json.getJSONArray("functionList").getJSONObject(0);
+        assertFalse(funcJson.has("valuesX"));
+        assertFalse(funcJson.has("valuesY"));
+        assertEquals(workspace, new JsonReader(file.getAbsolutePath()).read());
+    }
+
+    @Test
+    public void testWriterMatchesWorkspaceToJson() throws IOException {
+        File file = helperTempFile();
+        Function[] funcs = helperInitFunctions();
+        workspace.addFunction(funcs[0], "my exp func");
+        workspace.addFunction(funcs[1], "my poly func");
+
+        helperWriteWorkspace();
+
+        JSONObject json = helperReadJson(file);
+        assertTrue(new JSONObject(workspace.toJson().toString()).similar(json)); //numbers as read back from text
+    }
+
+    @Test
+    public void testWriterStopsWhenProgressSaysSo() throws IOException {
+        helperTempFile();
+        Function[] funcs = helperInitFunctions();
+        workspace.addFunction(funcs[0], "my exp func");
+        workspace.addFunction(funcs[1], "my poly func");
+        List<Long> progress = new ArrayList<>();
+
+        boolean complete = helperWriteFunctions((done, total) -> {
+            progress.add(done);
+            return false;
+        });
+
+        assertFalse(complete);
+        assertEquals(List.of(1L), progress);
+    }
+
     // ~~~~~~~~~~~~~~HELPERS~~~~~~~~~~~~~~~~
 
     private void helperTestWriter(int expectedWorkspaceSize) {
@@ -82,6 +150,30 @@ public class JsonWriterTest {
         }
     }
 
+    private File helperTempFile() throws IOException {
+        File file = File.createTempFile("JsonWriterTest", ".json");
+        file.deleteOnExit();
+        writer = new JsonWriter(file.getAbsolutePath());
+        return file;
+    }
+
+    private void helperWriteWorkspace() throws IOException {
+        writer.open();
+        writer.write(workspace);
+        writer.close();
+    }
+
+    private boolean helperWriteFunctions(Progress progress) throws IOException {
+        writer.open();
+        boolean complete = writer.write(workspace.getFunctionList(), progress);
+        writer.close();
+        return complete;
+    }
+
+    private JSONObject helperReadJson(File file) throws IOException {
+        return new JSONObject(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+    }
+
     private Function[] helperInitFunctions() {
         String type1 = Function.TYPE_EXP;
         HashMap<String, Double> constants1 = new HashMap<>();